@@ -0,0 +1,40 @@
+package ru.practicum.shareit.batch;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.batch.dto.BatchResultDto;
+import ru.practicum.shareit.ratelimit.RateLimitKeys;
+
+import java.util.List;
+
+@Controller
+@RequestMapping(path = "/batch")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class BatchController {
+    private final BatchExecutor batchExecutor;
+    private static final String SHARER_USER_ID = "X-Sharer-User-Id";
+
+    @PostMapping
+    @ResponseBody
+    public Mono<List<BatchResultDto>> execute(
+            @RequestHeader(value = SHARER_USER_ID, required = false) Long userId,
+            @RequestAttribute(value = RateLimitKeys.ATTRIBUTE, required = false) String rateLimitKey,
+            @Valid @RequestBody BatchRequestDto batchRequestDto
+    ) {
+        log.info("Пакетный запрос из {} операций, userId={}", batchRequestDto.getOperations().size(), userId);
+        return batchExecutor.execute(batchRequestDto.getOperations(), userId, rateLimitKey);
+    }
+}
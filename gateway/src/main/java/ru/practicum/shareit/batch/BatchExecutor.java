@@ -0,0 +1,99 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.batch.dto.BatchOperationDto;
+import ru.practicum.shareit.batch.dto.BatchResultDto;
+import ru.practicum.shareit.exception.ErrorResponse;
+import ru.practicum.shareit.ratelimit.RateLimitKeys;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@Component
+public class BatchExecutor {
+    private static final String SHARER_USER_ID = "X-Sharer-User-Id";
+
+    private final WebClient.Builder webClientBuilder;
+    private final ObjectMapper objectMapper;
+    private final int maxConcurrency;
+    private volatile WebClient gateway;
+
+    public BatchExecutor(
+            WebClient.Builder webClientBuilder,
+            ObjectMapper objectMapper,
+            @Value("${shareit-gateway.batch.max-concurrency:8}") int maxConcurrency
+    ) {
+        this.webClientBuilder = webClientBuilder;
+        this.objectMapper = objectMapper;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        if (event.getApplicationContext().getServerNamespace() == null) {
+            gateway = webClientBuilder.clone()
+                    .baseUrl("http://localhost:" + event.getWebServer().getPort())
+                    .build();
+        }
+    }
+
+    public Mono<List<BatchResultDto>> execute(
+            List<BatchOperationDto> operations,
+            @Nullable Long userId,
+            @Nullable String rateLimitKey
+    ) {
+        return Flux.fromIterable(operations)
+                .flatMapSequential(operation -> execute(operation, userId, rateLimitKey), maxConcurrency)
+                .collectList();
+    }
+
+    private Mono<BatchResultDto> execute(
+            BatchOperationDto operation,
+            @Nullable Long userId,
+            @Nullable String rateLimitKey
+    ) {
+        WebClient.RequestBodySpec request = gateway.method(HttpMethod.valueOf(operation.getMethod()))
+                .uri(operation.getPath())
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(headers -> {
+                    if (userId != null) {
+                        headers.set(SHARER_USER_ID, String.valueOf(userId));
+                    }
+                    if (rateLimitKey != null) {
+                        RateLimitKeys.forward(headers, rateLimitKey);
+                    }
+                });
+        WebClient.RequestHeadersSpec<?> spec = operation.getBody() == null || operation.getBody().isNull()
+                ? request
+                : request.contentType(MediaType.APPLICATION_JSON).bodyValue(operation.getBody());
+
+        return spec.exchangeToMono(response -> response.bodyToMono(byte[].class)
+                        .map(body -> new BatchResultDto(response.statusCode().value(), readBody(body)))
+                        .defaultIfEmpty(new BatchResultDto(response.statusCode().value(), null)))
+                .onErrorResume(e -> Mono.just(new BatchResultDto(
+                        HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                        objectMapper.valueToTree(new ErrorResponse(
+                                "Internal Server Error", "Произошла непредвиденная ошибка", "Ошибка сервера")))));
+    }
+
+    private JsonNode readBody(byte[] body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return objectMapper.getNodeFactory().textNode(new String(body, StandardCharsets.UTF_8));
+        }
+    }
+}
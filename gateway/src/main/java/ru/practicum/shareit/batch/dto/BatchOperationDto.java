@@ -0,0 +1,31 @@
+package ru.practicum.shareit.batch.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOperationDto {
+    @NotNull
+    @Pattern(regexp = "GET|POST|PATCH|PUT|DELETE", message = "Недопустимый метод")
+    private String method;
+
+    @NotBlank
+    private String path;
+
+    private JsonNode body;
+
+    @JsonIgnore
+    @AssertTrue(message = "Недопустимый путь")
+    public boolean isPathAllowed() {
+        return path == null || BatchPaths.isAllowed(path);
+    }
+}
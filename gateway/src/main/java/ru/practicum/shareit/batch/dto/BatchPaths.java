@@ -0,0 +1,45 @@
+package ru.practicum.shareit.batch.dto;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Set;
+
+@UtilityClass
+class BatchPaths {
+    private static final Set<String> FORBIDDEN_ROOTS = Set.of("batch", "actuator");
+
+    static boolean isAllowed(String path) {
+        int query = path.indexOf('?');
+        String rawPath = query < 0 ? path : path.substring(0, query);
+        if (!rawPath.startsWith("/") || path.indexOf('#') >= 0 || containsUnsafe(path)) {
+            return false;
+        }
+
+        String decoded;
+        try {
+            decoded = UriUtils.decode(rawPath, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (decoded.indexOf('%') >= 0 || containsUnsafe(decoded)) {
+            return false;
+        }
+
+        String[] segments = decoded.substring(1).split("/", -1);
+        for (String segment : segments) {
+            if (segment.isEmpty() || segment.equals(".") || segment.equals("..")) {
+                return false;
+            }
+        }
+        String root = segments[0].toLowerCase(Locale.ROOT);
+        return FORBIDDEN_ROOTS.stream().noneMatch(root::startsWith);
+    }
+
+    private static boolean containsUnsafe(String value) {
+        return value.chars().anyMatch(c -> c == '\\' || c == ';' || Character.isWhitespace(c)
+                || Character.isISOControl(c));
+    }
+}
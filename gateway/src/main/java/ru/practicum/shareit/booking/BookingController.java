@@ -9,6 +9,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 
 @Controller
@@ -18,50 +19,54 @@ import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 @Validated
 public class BookingController {
     private static final String SHARER_USER_ID = "X-Sharer-User-Id";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
 
     private final BookingClient bookingClient;
 
     @GetMapping
-    public ResponseEntity<Object> getBookings(
+    public Mono<ResponseEntity<Object>> getBookings(
             @NotNull @RequestHeader(SHARER_USER_ID) long userId,
             @RequestParam(name = "state", defaultValue = "all") String stateParam,
             @Min(value = 0, message = "Параметр 'from' не может быть отрицательным")
             @RequestParam(name = "from", defaultValue = "0") Integer from,
             @Min(value = 1, message = "Параметр 'size' должен быть не менее 1")
-            @RequestParam(name = "size", defaultValue = "10") Integer size
+            @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor
     ) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
         log.info("Получение бронирования {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getBookings(userId, state, from, size);
+        return bookingClient.getBookings(userId, state, from, size, cursor);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getByOwnerId(
+    public Mono<ResponseEntity<Object>> getByOwnerId(
             @NotNull @RequestHeader(SHARER_USER_ID) long userId,
             @RequestParam(name = "state", defaultValue = "all") String stateParam,
             @Min(value = 0, message = "Параметр 'from' не может быть отрицательным")
             @RequestParam(name = "from", defaultValue = "0") Integer from,
             @Min(value = 1, message = "Параметр 'size' должен быть не менее 1")
-            @RequestParam(name = "size", defaultValue = "10") Integer size
+            @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor
     ) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Неизвестное состояние: " + stateParam));
         log.info("Получение бронирования по владельцу {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getBookingsByOwner(userId, state, from, size);
+        return bookingClient.getBookingsByOwner(userId, state, from, size, cursor);
     }
 
     @PostMapping
-    public ResponseEntity<Object> bookItem(
+    public Mono<ResponseEntity<Object>> bookItem(
             @NotNull @RequestHeader(SHARER_USER_ID) long userId,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @RequestBody @Valid BookItemRequestDto requestDto
     ) {
         log.info("Создание бронирования {}, userId={}", requestDto, userId);
-        return bookingClient.bookItem(userId, requestDto);
+        return bookingClient.bookItem(userId, requestDto, idempotencyKey);
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(
+    public Mono<ResponseEntity<Object>> getBooking(
             @NotNull @RequestHeader(SHARER_USER_ID) long userId,
             @PathVariable Long bookingId
     ) {
@@ -70,7 +75,7 @@ public class BookingController {
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> approveBooking(
+    public Mono<ResponseEntity<Object>> approveBooking(
             @RequestHeader(SHARER_USER_ID) long userId,
             @PathVariable Long bookingId,
             @RequestParam boolean approved
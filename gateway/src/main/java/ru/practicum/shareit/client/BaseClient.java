@@ -3,34 +3,34 @@ package ru.practicum.shareit.client;
 import java.util.List;
 import java.util.Map;
 
-import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
 
 public class BaseClient {
-    protected final RestTemplate rest;
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
 
-    public BaseClient(RestTemplate rest) {
-        this.rest = rest;
+    protected final ServerTransport transport;
+
+    public BaseClient(ServerTransport transport) {
+        this.transport = transport;
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected Mono<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(
+    protected Mono<ResponseEntity<Object>> get(
             String path,
             long userId
     ) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(
+    protected Mono<ResponseEntity<Object>> get(
             String path,
             Long userId,
             @Nullable Map<String, Object> parameters
@@ -38,14 +38,20 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(
+    protected Mono<ResponseEntity<Object>> hedgedGet(String path, @Nullable Long userId) {
+        HttpHeaders headers = defaultHeaders(userId);
+        headers.set(ServerNodes.HEDGE_HEADER, Boolean.TRUE.toString());
+        return transport.exchange(HttpMethod.GET, path, headers, null, null);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(
             String path,
             T body
     ) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(
+    protected <T> Mono<ResponseEntity<Object>> post(
             String path,
             long userId,
             T body
@@ -53,7 +59,7 @@ public class BaseClient {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(
+    protected <T> Mono<ResponseEntity<Object>> post(
             String path,
             Long userId,
             @Nullable Map<String, Object> parameters,
@@ -62,7 +68,20 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(
+    protected <T> Mono<ResponseEntity<Object>> idempotentPost(
+            String path,
+            long userId,
+            @Nullable String idempotencyKey,
+            T body
+    ) {
+        HttpHeaders headers = defaultHeaders(userId);
+        if (idempotencyKey != null) {
+            headers.set(IDEMPOTENCY_KEY, idempotencyKey);
+        }
+        return transport.exchange(HttpMethod.POST, path, headers, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> put(
             String path,
             long userId,
             T body
@@ -70,7 +89,7 @@ public class BaseClient {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(
+    protected <T> Mono<ResponseEntity<Object>> put(
             String path,
             long userId,
             @Nullable Map<String, Object> parameters,
@@ -79,21 +98,21 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(
+    protected <T> Mono<ResponseEntity<Object>> patch(
             String path,
             T body
     ) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(
+    protected <T> Mono<ResponseEntity<Object>> patch(
             String path,
             long userId
     ) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(
+    protected <T> Mono<ResponseEntity<Object>> patch(
             String path,
             long userId,
             T body
@@ -101,7 +120,7 @@ public class BaseClient {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(
+    protected <T> Mono<ResponseEntity<Object>> patch(
             String path,
             Long userId,
             @Nullable Map<String, Object> parameters,
@@ -110,18 +129,18 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Mono<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(
+    protected Mono<ResponseEntity<Object>> delete(
             String path,
             long userId
     ) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(
+    protected Mono<ResponseEntity<Object>> delete(
             String path,
             Long userId,
             @Nullable Map<String, Object> parameters
@@ -129,29 +148,17 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(
             HttpMethod method,
             String path,
             Long userId,
             @Nullable Map<String, Object> parameters,
             @Nullable T body
     ) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
-
-        ResponseEntity<Object> shareitServerResponse;
-        try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
-        }
-        return prepareGatewayResponse(shareitServerResponse);
+        return transport.exchange(method, path, defaultHeaders(userId), parameters, body);
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
+    protected HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
@@ -160,18 +167,4 @@ public class BaseClient {
         }
         return headers;
     }
-
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
-
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
-        }
-
-        return responseBuilder.build();
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class CoalescingServerTransport implements ServerTransport {
+    private final ServerTransport delegate;
+    private final Counter requests;
+    private final Counter merged;
+    private final ConcurrentMap<RequestKey, Mono<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+
+    public CoalescingServerTransport(ServerTransport delegate, MeterRegistry meterRegistry, String apiPrefix) {
+        this.delegate = delegate;
+        this.requests = Counter.builder("shareit.gateway.coalescing.requests")
+                .tag("client", apiPrefix)
+                .register(meterRegistry);
+        this.merged = Counter.builder("shareit.gateway.coalescing.merged")
+                .tag("client", apiPrefix)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(
+            HttpMethod method,
+            String path,
+            HttpHeaders headers,
+            @Nullable Map<String, Object> parameters,
+            @Nullable Object body
+    ) {
+        if (method != HttpMethod.GET) {
+            return delegate.exchange(method, path, headers, parameters, body);
+        }
+
+        return Mono.defer(() -> {
+            requests.increment();
+            RequestKey key = new RequestKey(path, headers, parameters);
+            AtomicReference<Mono<ResponseEntity<Object>>> self = new AtomicReference<>();
+            Mono<ResponseEntity<Object>> call = delegate.exchange(method, path, headers, parameters, null)
+                    .doFinally(signal -> inFlight.remove(key, self.get()))
+                    .cache();
+            self.set(call);
+            Mono<ResponseEntity<Object>> existing = inFlight.putIfAbsent(key, call);
+            if (existing != null) {
+                merged.increment();
+                return existing;
+            }
+            return call;
+        });
+    }
+
+    private record RequestKey(String path, HttpHeaders headers, @Nullable Map<String, Object> parameters) {
+    }
+}
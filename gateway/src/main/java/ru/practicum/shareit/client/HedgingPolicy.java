@@ -0,0 +1,102 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class HedgingPolicy {
+    private static final long TOKEN = 1_000;
+    private static final long MAX_BUDGET = 10 * TOKEN;
+    private static final long REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final HedgingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final long earnedPerRequest;
+    private final AtomicLong budget = new AtomicLong();
+    private final Map<String, RouteLatency> routes = new ConcurrentHashMap<>();
+    private final Counter sent;
+    private final Counter skipped;
+    private final Counter won;
+
+    public HedgingPolicy(HedgingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.earnedPerRequest = Math.round(properties.getMaxExtraLoad() * TOKEN);
+        this.sent = Counter.builder("shareit.gateway.hedging.sent").register(meterRegistry);
+        this.skipped = Counter.builder("shareit.gateway.hedging.skipped").register(meterRegistry);
+        this.won = Counter.builder("shareit.gateway.hedging.won").register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public Duration delayFor(String route) {
+        budget.getAndUpdate(current -> Math.min(MAX_BUDGET, current + earnedPerRequest));
+        return Duration.ofNanos(routes.computeIfAbsent(route, RouteLatency::new).delayNanos());
+    }
+
+    public void recordLatency(String route, long nanos) {
+        routes.computeIfAbsent(route, RouteLatency::new).timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public boolean tryAcquireHedge() {
+        while (true) {
+            long current = budget.get();
+            if (current < TOKEN) {
+                skipped.increment();
+                return false;
+            }
+            if (budget.compareAndSet(current, current - TOKEN)) {
+                sent.increment();
+                return true;
+            }
+        }
+    }
+
+    public void recordHedgeWon() {
+        won.increment();
+    }
+
+    private final class RouteLatency {
+        private final Timer timer;
+        private volatile long delayNanos;
+        private volatile long refreshedAt;
+
+        RouteLatency(String route) {
+            this.timer = Timer.builder("shareit.gateway.hedging.latency")
+                    .tag("route", route)
+                    .publishPercentiles(properties.getPercentile())
+                    .register(meterRegistry);
+            this.delayNanos = properties.getMaxDelay().toNanos();
+            this.refreshedAt = System.nanoTime();
+        }
+
+        long delayNanos() {
+            long now = System.nanoTime();
+            if (now - refreshedAt > REFRESH_NANOS) {
+                refreshedAt = now;
+                delayNanos = computeDelayNanos();
+            }
+            return delayNanos;
+        }
+
+        private long computeDelayNanos() {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            ValueAtPercentile[] percentiles = snapshot.percentileValues();
+            if (snapshot.count() < properties.getMinSamples() || percentiles.length == 0) {
+                return properties.getMaxDelay().toNanos();
+            }
+            long delay = (long) percentiles[0].value(TimeUnit.NANOSECONDS);
+            return Math.clamp(delay, properties.getMinDelay().toNanos(), properties.getMaxDelay().toNanos());
+        }
+    }
+}
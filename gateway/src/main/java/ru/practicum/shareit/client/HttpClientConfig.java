@@ -0,0 +1,115 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class HttpClientConfig {
+    private static final String POOL_NAME = "shareit-server";
+
+    @Bean
+    public PoolingHttpClientConnectionManager shareItConnectionManager(HttpClientProperties properties) {
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+                .setSocketTimeout(Timeout.of(properties.getResponseTimeout()))
+                .setValidateAfterInactivity(TimeValue.of(properties.getValidateAfterInactivity()))
+                .setTimeToLive(TimeValue.of(properties.getTimeToLive()))
+                .build();
+
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxTotal())
+                .setMaxConnPerRoute(properties.getMaxPerRoute())
+                .setDefaultConnectionConfig(connectionConfig)
+                .build();
+    }
+
+    @Bean
+    public CloseableHttpClient shareItHttpClient(
+            PoolingHttpClientConnectionManager shareItConnectionManager,
+            HttpClientProperties properties
+    ) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(properties.getConnectionRequestTimeout()))
+                .setResponseTimeout(Timeout.of(properties.getResponseTimeout()))
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(shareItConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(properties.getIdleEviction()))
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory shareItRequestFactory(CloseableHttpClient shareItHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(shareItHttpClient);
+    }
+
+    @Bean
+    public ServerTransportFactory restTemplateTransportFactory(
+            ServerNodes serverNodes,
+            HedgingPolicy hedgingPolicy,
+            RestTemplateBuilder builder,
+            ClientHttpRequestFactory shareItRequestFactory,
+            MeterRegistry meterRegistry,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry
+    ) {
+        return apiPrefix -> new CoalescingServerTransport(
+                new ResilientServerTransport(
+                        new RoutingServerTransport(serverNodes, apiPrefix, hedgingPolicy,
+                                node -> restTemplateTransport(builder, shareItRequestFactory, node + apiPrefix)),
+                        apiPrefix,
+                        circuitBreakerRegistry,
+                        bulkheadRegistry
+                ),
+                meterRegistry,
+                apiPrefix
+        );
+    }
+
+    @Bean
+    public PoolingHttpClientConnectionManagerMetricsBinder shareItConnectionPoolMetrics(
+            PoolingHttpClientConnectionManager shareItConnectionManager,
+            MeterRegistry meterRegistry
+    ) {
+        PoolingHttpClientConnectionManagerMetricsBinder binder =
+                new PoolingHttpClientConnectionManagerMetricsBinder(shareItConnectionManager, POOL_NAME);
+        binder.bindTo(meterRegistry);
+        return binder;
+    }
+
+    private static ServerTransport restTemplateTransport(
+            RestTemplateBuilder builder,
+            ClientHttpRequestFactory requestFactory,
+            String baseUrl
+    ) {
+        return new RestTemplateServerTransport(
+                builder
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(baseUrl))
+                        .requestFactory(() -> requestFactory)
+                        .build()
+        );
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public class ResilientServerTransport implements ServerTransport {
+    private final ServerTransport delegate;
+    private final String apiPrefix;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+
+    public ResilientServerTransport(
+            ServerTransport delegate,
+            String apiPrefix,
+            CircuitBreakerRegistry circuitBreakers,
+            BulkheadRegistry bulkheads
+    ) {
+        this.delegate = delegate;
+        this.apiPrefix = apiPrefix;
+        this.circuitBreakers = circuitBreakers;
+        this.bulkheads = bulkheads;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(
+            HttpMethod method,
+            String path,
+            HttpHeaders headers,
+            @Nullable Map<String, Object> parameters,
+            @Nullable Object body
+    ) {
+        String route = routeOf(method, path);
+        CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(route);
+        Bulkhead bulkhead = bulkheads.bulkhead(route);
+
+        return delegate.exchange(method, path, headers, parameters, body)
+                .flatMap(response -> response.getStatusCode().is5xxServerError()
+                        ? Mono.error(new ServerErrorResponse(response))
+                        : Mono.just(response))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .onErrorResume(ServerErrorResponse.class, e -> Mono.just(e.getResponse()));
+    }
+
+    String routeOf(HttpMethod method, String path) {
+        return ServerRoutes.routeOf(method, apiPrefix, path);
+    }
+
+    @Getter
+    private static class ServerErrorResponse extends RuntimeException {
+        private final transient ResponseEntity<Object> response;
+
+        ServerErrorResponse(ResponseEntity<Object> response) {
+            super(null, null, false, false);
+            this.response = response;
+        }
+    }
+}
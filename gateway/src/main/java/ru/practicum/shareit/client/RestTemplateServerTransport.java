@@ -0,0 +1,53 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public class RestTemplateServerTransport implements ServerTransport {
+    private final RestTemplate rest;
+
+    public RestTemplateServerTransport(RestTemplate rest) {
+        this.rest = rest;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(
+            HttpMethod method,
+            String path,
+            HttpHeaders headers,
+            @Nullable Map<String, Object> parameters,
+            @Nullable Object body
+    ) {
+        return Mono.fromSupplier(() -> send(method, path, new HttpEntity<>(body, headers), parameters));
+    }
+
+    private ResponseEntity<Object> send(
+            HttpMethod method,
+            String path,
+            HttpEntity<Object> requestEntity,
+            @Nullable Map<String, Object> parameters
+    ) {
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
+            }
+        } catch (HttpStatusCodeException e) {
+            return ServerResponses.toGatewayResponse(
+                    e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        }
+        return ServerResponses.toGatewayResponse(
+                shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
+    }
+}
@@ -0,0 +1,128 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class RoutingServerTransport implements ServerTransport {
+    private static final String SHARER_USER_ID = "X-Sharer-User-Id";
+
+    private final ServerNodes serverNodes;
+    private final String apiPrefix;
+    private final HedgingPolicy hedgingPolicy;
+    private final Map<String, ServerTransport> transports;
+
+    public RoutingServerTransport(
+            ServerNodes serverNodes,
+            String apiPrefix,
+            HedgingPolicy hedgingPolicy,
+            Function<String, ServerTransport> transportFactory
+    ) {
+        this.serverNodes = serverNodes;
+        this.apiPrefix = apiPrefix;
+        this.hedgingPolicy = hedgingPolicy;
+        this.transports = serverNodes.getNodes().stream()
+                .collect(Collectors.toUnmodifiableMap(Function.identity(), transportFactory));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(
+            HttpMethod method,
+            String path,
+            HttpHeaders headers,
+            @Nullable Map<String, Object> parameters,
+            @Nullable Object body
+    ) {
+        String pinnedNode = headers.getFirst(ServerNodes.NODE_HEADER);
+        boolean hedge = headers.containsKey(ServerNodes.HEDGE_HEADER);
+        HttpHeaders forwarded = headers;
+        if (pinnedNode != null || hedge) {
+            forwarded = new HttpHeaders();
+            forwarded.addAll(headers);
+            forwarded.remove(ServerNodes.NODE_HEADER);
+            forwarded.remove(ServerNodes.HEDGE_HEADER);
+        }
+
+        if (pinnedNode != null) {
+            ServerTransport transport = transports.get(pinnedNode);
+            if (transport == null) {
+                return Mono.error(new IllegalArgumentException("Неизвестный узел сервера: " + pinnedNode));
+            }
+            return transport.exchange(method, path, forwarded, parameters, body);
+        }
+
+        String userId = headers.getFirst(SHARER_USER_ID);
+        List<String> candidates = serverNodes.candidates(userId != null ? userId : path);
+        Call call = new Call(candidates, method, path, forwarded, parameters, body);
+        if (hedge && method == HttpMethod.GET && hedgingPolicy.isEnabled() && candidates.size() > 1) {
+            return hedged(call);
+        }
+        return send(call, 0);
+    }
+
+    private Mono<ResponseEntity<Object>> hedged(Call call) {
+        String route = ServerRoutes.routeOf(call.method(), apiPrefix, call.path());
+        Duration delay = hedgingPolicy.delayFor(route);
+
+        Mono<ResponseEntity<Object>> primary = timed(route, send(call, 0));
+        Mono<ResponseEntity<Object>> backup = Mono.delay(delay)
+                .flatMap(tick -> hedgingPolicy.tryAcquireHedge()
+                        ? timed(route, send(call, 1)).doOnNext(response -> hedgingPolicy.recordHedgeWon())
+                        : Mono.never());
+        return Mono.firstWithSignal(primary, backup);
+    }
+
+    private Mono<ResponseEntity<Object>> timed(String route, Mono<ResponseEntity<Object>> request) {
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            return request
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .doOnNext(response -> hedgingPolicy.recordLatency(route, System.nanoTime() - startedAt));
+        });
+    }
+
+    private Mono<ResponseEntity<Object>> send(Call call, int attempt) {
+        String node = call.candidates().get(attempt);
+        return transports.get(node).exchange(call.method(), call.path(), call.headers(), call.parameters(), call.body())
+                .onErrorResume(RoutingServerTransport::isConnectionFailure, e -> {
+                    serverNodes.markDown(node);
+                    if (attempt + 1 >= call.candidates().size()) {
+                        return Mono.error(e);
+                    }
+                    return send(call, attempt + 1);
+                });
+    }
+
+    private static boolean isConnectionFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException
+                    || cause instanceof NoRouteToHostException
+                    || cause instanceof UnknownHostException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Call(
+            List<String> candidates,
+            HttpMethod method,
+            String path,
+            HttpHeaders headers,
+            @Nullable Map<String, Object> parameters,
+            @Nullable Object body
+    ) {
+    }
+}
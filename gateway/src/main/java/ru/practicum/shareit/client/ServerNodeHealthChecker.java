@@ -0,0 +1,58 @@
+package ru.practicum.shareit.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+@Slf4j
+public class ServerNodeHealthChecker implements SchedulingConfigurer {
+    private final ServerNodes serverNodes;
+    private final ServerNodesProperties properties;
+    private final HttpClient httpClient;
+
+    public ServerNodeHealthChecker(ServerNodes serverNodes, ServerNodesProperties properties) {
+        this.serverNodes = serverNodes;
+        this.properties = properties;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.getHealthCheckTimeout())
+                .build();
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedDelayTask(this::checkAll, properties.getHealthCheckInterval());
+    }
+
+    public void checkAll() {
+        serverNodes.getNodes().forEach(this::check);
+    }
+
+    private void check(String node) {
+        if (isHealthy(node)) {
+            serverNodes.markUp(node);
+        } else {
+            serverNodes.markDown(node);
+        }
+    }
+
+    private boolean isHealthy(String node) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(node + properties.getHealthPath()))
+                .timeout(properties.getHealthCheckTimeout())
+                .GET()
+                .build();
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return serverNodes.isUp(node);
+        } catch (Exception e) {
+            log.debug("Проверка узла {} не прошла: {}", node, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+public class ServerNodes {
+    public static final String NODE_HEADER = "X-ShareIt-Server-Node";
+    public static final String HEDGE_HEADER = "X-ShareIt-Hedge";
+
+    private final List<String> nodes;
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+    private final Set<String> down = ConcurrentHashMap.newKeySet();
+
+    public ServerNodes(List<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("Не задан ни один узел сервера");
+        }
+        this.nodes = List.copyOf(new LinkedHashSet<>(nodes));
+        for (String node : this.nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(node + "#" + i), node);
+            }
+        }
+    }
+
+    public List<String> getNodes() {
+        return nodes;
+    }
+
+    public List<String> candidates(String routingKey) {
+        Set<String> ordered = new LinkedHashSet<>(nodes.size());
+        collect(ring.tailMap(hash(routingKey), true).values(), ordered);
+        if (ordered.size() < nodes.size()) {
+            collect(ring.values(), ordered);
+        }
+
+        List<String> candidates = new ArrayList<>(ordered.size());
+        ordered.stream().filter(this::isUp).forEach(candidates::add);
+        ordered.stream().filter(node -> !isUp(node)).forEach(candidates::add);
+        return candidates;
+    }
+
+    public boolean isUp(String node) {
+        return !down.contains(node);
+    }
+
+    public void markDown(String node) {
+        if (down.add(node)) {
+            log.warn("Узел сервера {} недоступен, запросы переводятся на другие узлы", node);
+        }
+    }
+
+    public void markUp(String node) {
+        if (down.remove(node)) {
+            log.info("Узел сервера {} снова доступен", node);
+        }
+    }
+
+    public Map<String, Boolean> getStatus() {
+        Map<String, Boolean> status = new LinkedHashMap<>();
+        nodes.forEach(node -> status.put(node, isUp(node)));
+        return status;
+    }
+
+    private void collect(Collection<String> ringNodes, Set<String> ordered) {
+        for (String node : ringNodes) {
+            if (ordered.add(node) && ordered.size() == nodes.size()) {
+                return;
+            }
+        }
+    }
+
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.Map;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties({ServerNodesProperties.class, HedgingProperties.class})
+public class ServerNodesConfig {
+
+    @Bean
+    public ServerNodes serverNodes(ServerNodesProperties properties) {
+        return new ServerNodes(properties.getNodes(), properties.getVirtualNodes());
+    }
+
+    @Bean
+    public HedgingPolicy hedgingPolicy(HedgingProperties properties, MeterRegistry meterRegistry) {
+        return new HedgingPolicy(properties, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.health-check-enabled", matchIfMissing = true)
+    public ServerNodeHealthChecker serverNodeHealthChecker(ServerNodes serverNodes, ServerNodesProperties properties) {
+        return new ServerNodeHealthChecker(serverNodes, properties);
+    }
+
+    @Bean
+    public HealthIndicator serverNodesHealthIndicator(ServerNodes serverNodes) {
+        return () -> {
+            Map<String, Boolean> status = serverNodes.getStatus();
+            Health.Builder health = status.containsValue(true) ? Health.up() : Health.down();
+            return health.withDetails(status).build();
+        };
+    }
+}
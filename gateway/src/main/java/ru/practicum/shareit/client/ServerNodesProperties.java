@@ -0,0 +1,19 @@
+package ru.practicum.shareit.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server")
+public class ServerNodesProperties {
+    private List<String> nodes = new ArrayList<>();
+    private int virtualNodes = 128;
+    private boolean healthCheckEnabled = true;
+    private String healthPath = "/actuator/health";
+    private Duration healthCheckInterval = Duration.ofSeconds(2);
+    private Duration healthCheckTimeout = Duration.ofSeconds(1);
+}
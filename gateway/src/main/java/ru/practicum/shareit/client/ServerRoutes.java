@@ -0,0 +1,17 @@
+package ru.practicum.shareit.client;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.http.HttpMethod;
+
+import java.util.regex.Pattern;
+
+@UtilityClass
+class ServerRoutes {
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    static String routeOf(HttpMethod method, String apiPrefix, String path) {
+        int query = path.indexOf('?');
+        String template = query < 0 ? path : path.substring(0, query);
+        return method.name() + " " + apiPrefix + ID_SEGMENT.matcher(template).replaceAll("/{id}");
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class WebClientConfig {
+    private static final String POOL_NAME = "shareit-server";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareItConnectionProvider(HttpClientProperties properties) {
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(properties.getMaxPerRoute())
+                .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+                .maxIdleTime(properties.getIdleEviction())
+                .maxLifeTime(properties.getTimeToLive())
+                .evictInBackground(properties.getIdleEviction())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public ClientHttpConnector shareItClientConnector(
+            ConnectionProvider shareItConnectionProvider,
+            HttpClientProperties properties
+    ) {
+        HttpClient httpClient = HttpClient.create(shareItConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getResponseTimeout());
+        return new ReactorClientHttpConnector(httpClient);
+    }
+
+    @Bean
+    public ServerTransportFactory webClientTransportFactory(
+            ServerNodes serverNodes,
+            HedgingPolicy hedgingPolicy,
+            WebClient.Builder builder,
+            ClientHttpConnector shareItClientConnector,
+            MeterRegistry meterRegistry,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry
+    ) {
+        return apiPrefix -> new CoalescingServerTransport(
+                new ResilientServerTransport(
+                        new RoutingServerTransport(serverNodes, apiPrefix, hedgingPolicy,
+                                node -> webClientTransport(builder, shareItClientConnector, node + apiPrefix)),
+                        apiPrefix,
+                        circuitBreakerRegistry,
+                        bulkheadRegistry
+                ),
+                meterRegistry,
+                apiPrefix
+        );
+    }
+
+    private static ServerTransport webClientTransport(
+            WebClient.Builder builder,
+            ClientHttpConnector connector,
+            String baseUrl
+    ) {
+        return new WebClientServerTransport(
+                builder.clone()
+                        .baseUrl(baseUrl)
+                        .clientConnector(connector)
+                        .build()
+        );
+    }
+}
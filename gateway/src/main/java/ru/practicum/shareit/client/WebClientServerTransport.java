@@ -0,0 +1,42 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public class WebClientServerTransport implements ServerTransport {
+    private final WebClient webClient;
+
+    public WebClientServerTransport(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(
+            HttpMethod method,
+            String path,
+            HttpHeaders headers,
+            @Nullable Map<String, Object> parameters,
+            @Nullable Object body
+    ) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(requestHeaders -> requestHeaders.addAll(headers));
+        WebClient.RequestHeadersSpec<?> spec = body != null ? request.bodyValue(body) : request;
+
+        return spec.exchangeToMono(this::toGatewayResponse);
+    }
+
+    private Mono<ResponseEntity<Object>> toGatewayResponse(ClientResponse response) {
+        HttpHeaders serverHeaders = response.headers().asHttpHeaders();
+        return response.bodyToMono(byte[].class)
+                .map(body -> ServerResponses.toGatewayResponse(response.statusCode(), serverHeaders, body))
+                .defaultIfEmpty(ServerResponses.toGatewayResponse(response.statusCode(), serverHeaders, null));
+    }
+}
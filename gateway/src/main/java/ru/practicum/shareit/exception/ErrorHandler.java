@@ -1,5 +1,7 @@
 package ru.practicum.shareit.exception;
 
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -8,12 +10,17 @@ import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.MissingRequestValueException;
+import org.springframework.web.server.ServerWebInputException;
 
 @RestControllerAdvice
 public class ErrorHandler {
     private static final String VALIDATION_ERROR = "Validation error";
     private static final String INTERNAL_SERVER_ERROR = "Internal Server Error";
     private static final String BAD_REQUEST_ERROR = "Bad Request";
+    private static final String SERVICE_UNAVAILABLE_ERROR = "Service Unavailable";
 
     @ExceptionHandler(IllegalArgumentException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
@@ -51,6 +58,54 @@ public class ErrorHandler {
         return new ErrorResponse(BAD_REQUEST_ERROR, message, "Отсутствует обязательный параметр запроса");
     }
 
+    @ExceptionHandler(MissingRequestValueException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleMissingRequestValueException(final MissingRequestValueException e) {
+        if ("header".equals(e.getLabel())) {
+            String message = String.format("Обязательный заголовок '%s' отсутствует", e.getName());
+            return new ErrorResponse(BAD_REQUEST_ERROR, message, "Отсутствует обязательный заголовок");
+        }
+        String message = String.format("Обязательный параметр '%s' отсутствует", e.getName());
+        return new ErrorResponse(BAD_REQUEST_ERROR, message, "Отсутствует обязательный параметр запроса");
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleWebExchangeBindException(final WebExchangeBindException e) {
+        String message = e.getFieldErrors().stream()
+                .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                .findFirst()
+                .orElse(e.getReason());
+        return new ErrorResponse(VALIDATION_ERROR, message, "Недопустимый аргумент метода");
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleServerWebInputException(final ServerWebInputException e) {
+        return new ErrorResponse(BAD_REQUEST_ERROR, e.getReason(), "Недопустимые параметры запроса");
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleMethodArgumentTypeMismatchException(final MethodArgumentTypeMismatchException e) {
+        String message = String.format("Недопустимое значение параметра '%s'", e.getName());
+        return new ErrorResponse(BAD_REQUEST_ERROR, message, "Недопустимые параметры запроса");
+    }
+
+    @ExceptionHandler(CallNotPermittedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleCallNotPermittedException(final CallNotPermittedException e) {
+        String message = String.format("Запросы '%s' временно не выполняются", e.getCausingCircuitBreakerName());
+        return new ErrorResponse(SERVICE_UNAVAILABLE_ERROR, message, "Сервер недоступен");
+    }
+
+    @ExceptionHandler(BulkheadFullException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleBulkheadFullException(final BulkheadFullException e) {
+        return new ErrorResponse(SERVICE_UNAVAILABLE_ERROR, "Слишком много одновременных запросов к серверу",
+                "Превышен лимит параллельных запросов");
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse handleException(final Exception e) {
@@ -1,59 +1,93 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerNodes;
+import ru.practicum.shareit.client.ServerTransportFactory;
+import ru.practicum.shareit.item.cache.ItemResponseCache;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
+    private final ItemResponseCache itemCache;
+
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public ItemClient(ServerTransportFactory transports, ItemResponseCache itemCache) {
+        super(transports.create(API_PREFIX));
+        this.itemCache = itemCache;
     }
 
-    public ResponseEntity<Object> create(ItemRequestDto itemRequestDto, Long userId) {
-        return post("", userId, itemRequestDto);
+    public Mono<ResponseEntity<Object>> create(ItemRequestDto itemRequestDto, Long userId, String idempotencyKey) {
+        return idempotentPost("", userId, idempotencyKey, itemRequestDto)
+                .doOnNext(response -> itemCache.invalidateSearch());
     }
 
-    public ResponseEntity<Object> update(Long itemId, ItemRequestDto itemRequestDto, Long userId) {
-        return patch("/" + itemId, userId, itemRequestDto);
+    public Mono<ResponseEntity<Object>> update(Long itemId, ItemRequestDto itemRequestDto, Long userId) {
+        return patch("/" + itemId, userId, itemRequestDto)
+                .doOnNext(response -> itemCache.invalidateItem(itemId, true));
     }
 
-    public ResponseEntity<Object> getById(Long itemId, Long userId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<Object>> getById(Long itemId, Long userId) {
+        return itemCache.getItem(itemId, userId, () -> hedgedGet("/" + itemId, userId));
     }
 
-    public ResponseEntity<Object> getByOwnerId(Long userId) {
+    public Mono<ResponseEntity<Object>> getByOwnerId(Long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> search(String text, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> search(
+            String text, Integer from, Integer size, LocalDateTime start, LocalDateTime end
+    ) {
+        if (start != null) {
+            Map<String, Object> parameters = Map.of(
+                    "text", text,
+                    "from", from,
+                    "size", size,
+                    "start", start,
+                    "end", end
+            );
+            return get("/search?text={text}&from={from}&size={size}&start={start}&end={end}", null, parameters);
+        }
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
                 "size", size
         );
-        return get("/search?text={text}&from={from}&size={size}", null, parameters);
+        return itemCache.search(text, from, size,
+                () -> get("/search?text={text}&from={from}&size={size}", null, parameters));
+    }
+
+    public Mono<ResponseEntity<Object>> getAvailability(
+            Long itemId, Long userId, LocalDateTime from, LocalDateTime to
+    ) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> addComment(Long itemId, CommentRequestDto commentRequestDto, Long userId) {
+        return post("/" + itemId + "/comment", userId, commentRequestDto)
+                .doOnNext(response -> itemCache.invalidateItem(itemId, false));
     }
 
-    public ResponseEntity<Object> addComment(Long itemId, CommentRequestDto commentRequestDto, Long userId) {
-        return post("/" + itemId + "/comment", userId, commentRequestDto);
+    public Mono<ResponseEntity<Object>> getInvalidations(String node, long after) {
+        HttpHeaders headers = defaultHeaders(null);
+        headers.set(ServerNodes.NODE_HEADER, node);
+        return transport.exchange(
+                HttpMethod.GET, "/invalidations?after={after}", headers, Map.of("after", after), null);
     }
 
 }
\ No newline at end of file
@@ -4,13 +4,17 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 
+import java.time.LocalDateTime;
+
 @Controller
 @RequestMapping(path = "/items")
 @RequiredArgsConstructor
@@ -19,18 +23,20 @@ import ru.practicum.shareit.item.dto.ItemRequestDto;
 public class ItemController {
     private final ItemClient itemClient;
     private static final String SHARER_USER_ID = "X-Sharer-User-Id";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
 
     @PostMapping
-    public ResponseEntity<Object> create(
+    public Mono<ResponseEntity<Object>> create(
             @RequestHeader(SHARER_USER_ID) Long userId,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @Valid @RequestBody ItemRequestDto itemDto
     ) {
         log.info("Создание предмета {}, userId={}", itemDto, userId);
-        return itemClient.create(itemDto, userId);
+        return itemClient.create(itemDto, userId, idempotencyKey);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(
+    public Mono<ResponseEntity<Object>> update(
             @RequestHeader(SHARER_USER_ID) Long userId,
             @PathVariable Long itemId,
             @RequestBody ItemRequestDto itemDto
@@ -40,7 +46,7 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getById(
+    public Mono<ResponseEntity<Object>> getById(
             @PathVariable Long itemId,
             @RequestHeader(SHARER_USER_ID) Long userId
     ) {
@@ -49,7 +55,7 @@ public class ItemController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getByOwnerId(
+    public Mono<ResponseEntity<Object>> getByOwnerId(
             @RequestHeader(SHARER_USER_ID) Long userId
     ) {
         log.info("Получение предметов по владельцу, userId={}", userId);
@@ -57,19 +63,41 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> search(
+    public Mono<ResponseEntity<Object>> search(
             @RequestParam String text,
             @Min(value = 0, message = "Параметр 'from' не может быть отрицательным")
             @RequestParam(defaultValue = "0") Integer from,
             @Min(value = 1, message = "Параметр 'size' должен быть не менее 1")
-            @RequestParam(defaultValue = "10") Integer size
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end
+    ) {
+        if ((start == null) != (end == null)) {
+            throw new IllegalArgumentException("Для поиска по датам нужно указать начало и окончание периода");
+        }
+        if (start != null && !start.isBefore(end)) {
+            throw new IllegalArgumentException("Начало периода должно быть раньше его окончания");
+        }
+        log.info("Поиск предметов, text={}, from={}, size={}, start={}, end={}", text, from, size, start, end);
+        return itemClient.search(text, from, size, start, end);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(
+            @PathVariable Long itemId,
+            @RequestHeader(SHARER_USER_ID) Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
     ) {
-        log.info("Поиск предметов, text={}, from={}, size={}", text, from, size);
-        return itemClient.search(text, from, size);
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Начало периода должно быть раньше его окончания");
+        }
+        log.info("Получение занятости предмета, itemId={}, from={}, to={}, userId={}", itemId, from, to, userId);
+        return itemClient.getAvailability(itemId, userId, from, to);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(
+    public Mono<ResponseEntity<Object>> addComment(
             @PathVariable Long itemId,
             @Valid @RequestBody CommentRequestDto commentRequestDto,
             @RequestHeader(SHARER_USER_ID) Long userId
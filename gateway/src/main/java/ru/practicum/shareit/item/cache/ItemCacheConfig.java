@@ -0,0 +1,44 @@
+package ru.practicum.shareit.item.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import ru.practicum.shareit.client.ServerNodes;
+import ru.practicum.shareit.item.ItemClient;
+
+import java.time.Clock;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(ItemCacheProperties.class)
+public class ItemCacheConfig {
+
+    @Bean
+    public ItemResponseCache itemResponseCache(
+            ItemCacheProperties properties,
+            ServerNodes serverNodes,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        ItemResponseCache cache = new ItemResponseCache(properties, serverNodes.getNodes(), Clock.systemUTC());
+        meterRegistry.ifAvailable(cache::bindTo);
+        return cache;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.item-cache.enabled", matchIfMissing = true)
+    public ItemInvalidationPoller itemInvalidationPoller(
+            ItemClient itemClient,
+            ItemResponseCache itemResponseCache,
+            ServerNodes serverNodes,
+            ObjectMapper objectMapper,
+            ItemCacheProperties properties
+    ) {
+        return new ItemInvalidationPoller(
+                itemClient, itemResponseCache, serverNodes, objectMapper, properties.getPollInterval());
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.item-cache")
+public class ItemCacheProperties {
+    private boolean enabled = true;
+    private long maxSize = 10_000;
+    private Duration ttl = Duration.ofSeconds(30);
+    private Duration pollInterval = Duration.ofMillis(500);
+    private Duration maxStaleness = Duration.ofSeconds(2);
+}
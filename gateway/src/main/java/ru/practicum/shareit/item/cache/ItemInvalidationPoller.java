@@ -0,0 +1,47 @@
+package ru.practicum.shareit.item.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import ru.practicum.shareit.client.ServerNodes;
+import ru.practicum.shareit.item.ItemClient;
+
+import java.time.Duration;
+
+@Slf4j
+@RequiredArgsConstructor
+public class ItemInvalidationPoller implements SchedulingConfigurer {
+    private final ItemClient itemClient;
+    private final ItemResponseCache itemResponseCache;
+    private final ServerNodes serverNodes;
+    private final ObjectMapper objectMapper;
+    private final Duration pollInterval;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedDelayTask(this::poll, pollInterval);
+    }
+
+    public void poll() {
+        serverNodes.getNodes().forEach(this::poll);
+    }
+
+    private void poll(String node) {
+        try {
+            ResponseEntity<Object> response = itemClient.getInvalidations(node, itemResponseCache.getSequence(node))
+                    .block(pollInterval.multipliedBy(4));
+            if (response == null || !response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+                log.warn("Не удалось получить инвалидации кэша вещей с узла {}: {}",
+                        node, response == null ? "нет ответа" : response.getStatusCode());
+                return;
+            }
+            itemResponseCache.applyInvalidations(node,
+                    objectMapper.readValue((byte[]) response.getBody(), ItemInvalidations.class));
+        } catch (Exception e) {
+            log.warn("Не удалось получить инвалидации кэша вещей с узла {}: {}", node, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemInvalidations {
+    private String epoch;
+    private long sequence;
+    private boolean reset;
+    private boolean searchChanged;
+    private List<Long> itemIds;
+}
@@ -0,0 +1,156 @@
+package ru.practicum.shareit.item.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+public class ItemResponseCache {
+    private final boolean enabled;
+    private final Duration maxStaleness;
+    private final Clock clock;
+    private final Cache<ItemKey, ResponseEntity<Object>> items;
+    private final Cache<SearchKey, ResponseEntity<Object>> searches;
+    private final AtomicLong generation = new AtomicLong();
+
+    private final List<String> nodes;
+    private final Map<String, NodeSync> syncs = new ConcurrentHashMap<>();
+
+    public ItemResponseCache(ItemCacheProperties properties, List<String> nodes, Clock clock) {
+        this.enabled = properties.isEnabled();
+        this.nodes = List.copyOf(nodes);
+        this.maxStaleness = properties.getMaxStaleness();
+        this.clock = clock;
+        this.items = newCache(properties);
+        this.searches = newCache(properties);
+    }
+
+    public void bindTo(MeterRegistry meterRegistry) {
+        CaffeineCacheMetrics.monitor(meterRegistry, items, "items");
+        CaffeineCacheMetrics.monitor(meterRegistry, searches, "item-search");
+    }
+
+    public Mono<ResponseEntity<Object>> getItem(
+            Long itemId,
+            Long userId,
+            Supplier<Mono<ResponseEntity<Object>>> loader
+    ) {
+        return cached(items, new ItemKey(itemId, userId), loader);
+    }
+
+    public Mono<ResponseEntity<Object>> search(
+            String text,
+            Integer from,
+            Integer size,
+            Supplier<Mono<ResponseEntity<Object>>> loader
+    ) {
+        return cached(searches, new SearchKey(text, from, size), loader);
+    }
+
+    public void invalidateItem(Long itemId, boolean affectsSearch) {
+        generation.incrementAndGet();
+        items.asMap().keySet().removeIf(key -> key.itemId().equals(itemId));
+        if (affectsSearch) {
+            searches.invalidateAll();
+        }
+    }
+
+    public void invalidateSearch() {
+        generation.incrementAndGet();
+        searches.invalidateAll();
+    }
+
+    public void applyInvalidations(String node, ItemInvalidations changes) {
+        NodeSync sync = syncs.get(node);
+        if (changes.isReset() || sync == null || !Objects.equals(changes.getEpoch(), sync.epoch())) {
+            generation.incrementAndGet();
+            items.invalidateAll();
+            searches.invalidateAll();
+        } else if (!changes.getItemIds().isEmpty() || changes.isSearchChanged()) {
+            Set<Long> itemIds = new HashSet<>(changes.getItemIds());
+            generation.incrementAndGet();
+            items.asMap().keySet().removeIf(key -> itemIds.contains(key.itemId()));
+            if (changes.isSearchChanged()) {
+                searches.invalidateAll();
+            }
+        }
+        syncs.put(node, new NodeSync(changes.getEpoch(), changes.getSequence(), clock.instant()));
+    }
+
+    public long getSequence(String node) {
+        NodeSync sync = syncs.get(node);
+        return sync == null ? -1 : sync.sequence();
+    }
+
+    private <K> Mono<ResponseEntity<Object>> cached(
+            Cache<K, ResponseEntity<Object>> cache,
+            K key,
+            Supplier<Mono<ResponseEntity<Object>>> loader
+    ) {
+        return Mono.defer(() -> {
+            if (!isInSync()) {
+                return loader.get();
+            }
+
+            ResponseEntity<Object> cachedResponse = cache.getIfPresent(key);
+            if (cachedResponse != null) {
+                return Mono.just(cachedResponse);
+            }
+
+            long loadGeneration = generation.get();
+            return loader.get().doOnNext(response -> {
+                if (response.getStatusCode().is2xxSuccessful() && generation.get() == loadGeneration) {
+                    cache.put(key, response);
+                    if (generation.get() != loadGeneration) {
+                        cache.invalidate(key);
+                    }
+                }
+            });
+        });
+    }
+
+    private boolean isInSync() {
+        if (!enabled) {
+            return false;
+        }
+        Instant oldestAllowed = clock.instant().minus(maxStaleness);
+        for (String node : nodes) {
+            NodeSync sync = syncs.get(node);
+            if (sync == null || sync.syncedAt().isBefore(oldestAllowed)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static <K> Cache<K, ResponseEntity<Object>> newCache(ItemCacheProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+    }
+
+    private record NodeSync(String epoch, long sequence, Instant syncedAt) {
+    }
+
+    private record ItemKey(Long itemId, Long userId) {
+    }
+
+    private record SearchKey(String text, Integer from, Integer size) {
+    }
+}
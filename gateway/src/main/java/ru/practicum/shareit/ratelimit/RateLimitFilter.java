@@ -0,0 +1,47 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        String key = RateLimitKeys.resolve(
+                request.getHeader(RateLimitKeys.FORWARDED_KEY),
+                request.getHeader(RateLimitKeys.FORWARDED_TOKEN),
+                request.getHeader(RateLimits.SHARER_USER_ID),
+                request.getRemoteAddr()
+        );
+        request.setAttribute(RateLimitKeys.ATTRIBUTE, key);
+        long wait = rateLimiter.tryAcquire(key, request.getMethod(), request.getRequestURI());
+        if (wait == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfter = RateLimits.retryAfterSeconds(wait);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), RateLimits.errorResponse(retryAfter));
+    }
+}
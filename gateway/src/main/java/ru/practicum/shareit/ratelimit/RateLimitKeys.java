@@ -0,0 +1,40 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.UUID;
+
+@UtilityClass
+public class RateLimitKeys {
+    public static final String ATTRIBUTE = "shareit.rate-limit.key";
+
+    static final String FORWARDED_KEY = "X-Shareit-Rate-Limit-Key";
+    static final String FORWARDED_TOKEN = "X-Shareit-Rate-Limit-Token";
+
+    private static final byte[] TOKEN = UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8);
+
+    public static void forward(HttpHeaders headers, String key) {
+        headers.set(FORWARDED_KEY, key);
+        headers.set(FORWARDED_TOKEN, new String(TOKEN, StandardCharsets.UTF_8));
+    }
+
+    static String resolve(
+            @Nullable String forwardedKey,
+            @Nullable String forwardedToken,
+            @Nullable String userId,
+            @Nullable String remoteAddress
+    ) {
+        if (forwardedKey != null && forwardedToken != null
+                && MessageDigest.isEqual(TOKEN, forwardedToken.getBytes(StandardCharsets.UTF_8))) {
+            return forwardedKey;
+        }
+        if (userId != null) {
+            return userId;
+        }
+        return RateLimits.ANONYMOUS_PREFIX + (remoteAddress == null ? "" : remoteAddress);
+    }
+}
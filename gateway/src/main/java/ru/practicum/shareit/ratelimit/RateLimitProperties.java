@@ -0,0 +1,26 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-gateway.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private long capacity = 100;
+    private long refillPerSecond = 50;
+    private long maxUsers = 100_000;
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    private List<RouteCost> routes = new ArrayList<>();
+
+    @Data
+    public static class RouteCost {
+        private String method;
+        private String path;
+        private long cost = 1;
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+@RequiredArgsConstructor
+public class RateLimitWebFilter implements WebFilter {
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String key = keyOf(request);
+        exchange.getAttributes().put(RateLimitKeys.ATTRIBUTE, key);
+        long wait = rateLimiter.tryAcquire(key, request.getMethod().name(), request.getPath().value());
+        if (wait == 0) {
+            return chain.filter(exchange);
+        }
+
+        long retryAfter = RateLimits.retryAfterSeconds(wait);
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(RateLimits.errorResponse(retryAfter));
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+    }
+
+    private static String keyOf(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        return RateLimitKeys.resolve(
+                headers.getFirst(RateLimitKeys.FORWARDED_KEY),
+                headers.getFirst(RateLimitKeys.FORWARDED_TOKEN),
+                headers.getFirst(RateLimits.SHARER_USER_ID),
+                remoteAddress == null ? null : remoteAddress.getHostString()
+        );
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+public class RateLimiter {
+    private final Cache<String, AtomicLong> buckets;
+    private final List<Route> routes;
+    private final long capacity;
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final LongSupplier nanoClock;
+    private final Function<String, AtomicLong> newBucket;
+    private final LongAdder rejected = new LongAdder();
+
+    public RateLimiter(RateLimitProperties properties, LongSupplier nanoClock) {
+        this.capacity = properties.getCapacity();
+        this.nanosPerToken = TimeUnit.SECONDS.toNanos(1) / properties.getRefillPerSecond();
+        this.burstNanos = capacity * nanosPerToken;
+        this.nanoClock = nanoClock;
+        this.newBucket = key -> new AtomicLong(nanoClock.getAsLong());
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxUsers())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+        this.routes = properties.getRoutes().stream()
+                .map(route -> new Route(
+                        route.getMethod(),
+                        route.getPath(),
+                        PathPatternParser.defaultInstance.parse(route.getPath()),
+                        Math.min(route.getCost(), capacity)))
+                .toList();
+    }
+
+    public void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder("shareit.gateway.rate-limit.buckets", buckets, Cache::estimatedSize)
+                .register(meterRegistry);
+        FunctionCounter.builder("shareit.gateway.rate-limit.rejected", rejected, LongAdder::sum)
+                .register(meterRegistry);
+    }
+
+    public long tryAcquire(String key, String method, String path) {
+        long cost = costOf(method, path) * nanosPerToken;
+        AtomicLong bucket = buckets.get(key, newBucket);
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long theoreticalArrival = bucket.get();
+            long next = (theoreticalArrival - now > 0 ? theoreticalArrival : now) + cost;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                rejected.increment();
+                return wait;
+            }
+            if (bucket.compareAndSet(theoreticalArrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private long costOf(String method, String path) {
+        PathContainer pathContainer = null;
+        for (Route route : routes) {
+            if (route.method() != null && !route.method().equalsIgnoreCase(method)) {
+                continue;
+            }
+            if (!route.pattern().hasPatternSyntax()) {
+                if (route.path().equals(path)) {
+                    return route.cost();
+                }
+                continue;
+            }
+            if (pathContainer == null) {
+                pathContainer = PathContainer.parsePath(path);
+            }
+            if (route.pattern().matches(pathContainer)) {
+                return route.cost();
+            }
+        }
+        return 1;
+    }
+
+    private record Route(String method, String path, PathPattern pattern, long cost) {
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.experimental.UtilityClass;
+import ru.practicum.shareit.exception.ErrorResponse;
+
+import java.util.concurrent.TimeUnit;
+
+@UtilityClass
+class RateLimits {
+    static final String SHARER_USER_ID = "X-Sharer-User-Id";
+    static final String ANONYMOUS_PREFIX = "ip:";
+
+    static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    static ErrorResponse errorResponse(long retryAfterSeconds) {
+        String message = String.format("Превышен лимит запросов, повторите через %d с", retryAfterSeconds);
+        return new ErrorResponse("Too Many Requests", message, "Слишком много запросов");
+    }
+}
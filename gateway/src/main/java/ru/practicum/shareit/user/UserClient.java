@@ -1,13 +1,11 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.user.dto.CreateUserRequestDto;
 import ru.practicum.shareit.user.dto.UpdateUserRequestDto;
 
@@ -16,35 +14,30 @@ public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public UserClient(ServerTransportFactory transports) {
+        super(transports.create(API_PREFIX));
     }
 
-    public ResponseEntity<Object> create(CreateUserRequestDto userDto) {
+    public Mono<ResponseEntity<Object>> create(CreateUserRequestDto userDto) {
         return post("", userDto);
     }
 
-    public ResponseEntity<Object> update(
+    public Mono<ResponseEntity<Object>> update(
             Long userId,
             UpdateUserRequestDto userDto
     ) {
         return patch("/" + userId, userDto);
     }
 
-    public ResponseEntity<Object> getById(Long userId) {
-        return get("/" + userId);
+    public Mono<ResponseEntity<Object>> getById(Long userId) {
+        return hedgedGet("/" + userId, null);
     }
 
-    public ResponseEntity<Object> getAll() {
-        return get("");
+    public Mono<ResponseEntity<Object>> getAll() {
+        return hedgedGet("", null);
     }
 
-    public ResponseEntity<Object> delete(Long userId) {
+    public Mono<ResponseEntity<Object>> delete(Long userId) {
         return delete("/" + userId);
     }
 
@@ -6,6 +6,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.CreateUserRequestDto;
 import ru.practicum.shareit.user.dto.UpdateUserRequestDto;
 
@@ -18,7 +19,7 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(
+    public Mono<ResponseEntity<Object>> create(
             @Valid @RequestBody CreateUserRequestDto userDto
     ) {
         log.info("Creating user {}", userDto);
@@ -26,7 +27,7 @@ public class UserController {
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> update(
+    public Mono<ResponseEntity<Object>> update(
             @PathVariable Long userId,
             @Valid @RequestBody UpdateUserRequestDto userDto
     ) {
@@ -35,7 +36,7 @@ public class UserController {
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getById(
+    public Mono<ResponseEntity<Object>> getById(
             @PathVariable Long userId
     ) {
         log.info("Get user, userId={}", userId);
@@ -43,13 +44,13 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAll() {
+    public Mono<ResponseEntity<Object>> getAll() {
         log.info("Get all users");
         return userClient.getAll();
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> delete(
+    public Mono<ResponseEntity<Object>> delete(
             @PathVariable Long userId
     ) {
         log.info("Delete user, userId={}", userId);
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.batch;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+
+@WebMvcTest
+class BatchControllerServletTest extends BatchControllerTest {
+}
@@ -0,0 +1,148 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.batch.dto.BatchOperationDto;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.batch.dto.BatchResultDto;
+import ru.practicum.shareit.exception.ErrorHandler;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@Import({BatchController.class, ErrorHandler.class})
+@ContextConfiguration(classes = BatchControllerTest.TestConfig.class)
+abstract class BatchControllerTest {
+    private static final String SHARER_USER_ID = "X-Sharer-User-Id";
+
+    @Configuration
+    static class TestConfig {
+        @Bean
+        public ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private BatchExecutor batchExecutor;
+
+    @Test
+    @DisplayName("Пакет из нескольких операций -> результаты возвращаются по порядку")
+    void execute_whenValidBatch_thenReturnResultsInOrder() {
+        List<BatchOperationDto> operations = List.of(
+                new BatchOperationDto("GET", "/users/1", null),
+                new BatchOperationDto("GET", "/items/5", null));
+        when(batchExecutor.execute(anyList(), any(), any())).thenReturn(Mono.just(List.of(
+                new BatchResultDto(200, objectMapper.createObjectNode().put("id", 1)),
+                new BatchResultDto(404, null))));
+
+        webTestClient.post()
+                .uri("/batch")
+                .header(SHARER_USER_ID, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new BatchRequestDto(operations))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].status").isEqualTo(200)
+                .jsonPath("$[0].body.id").isEqualTo(1)
+                .jsonPath("$[1].status").isEqualTo(404);
+
+        verify(batchExecutor).execute(argThat(sent -> sent.size() == 2
+                && sent.get(1).getPath().equals("/items/5")), eq(1L), any());
+    }
+
+    @Test
+    @DisplayName("Пустой пакет -> возвращает 400 Bad Request")
+    void execute_whenEmptyBatch_thenReturnBadRequest() {
+        webTestClient.post()
+                .uri("/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new BatchRequestDto(Collections.emptyList()))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(batchExecutor);
+    }
+
+    @Test
+    @DisplayName("Вложенный пакетный запрос -> возвращает 400 Bad Request")
+    void execute_whenNestedBatch_thenReturnBadRequest() {
+        webTestClient.post()
+                .uri("/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new BatchRequestDto(List.of(new BatchOperationDto("POST", "/batch", null))))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(batchExecutor);
+    }
+
+    @Test
+    @DisplayName("Вложенный пакет под неканоническим путем -> возвращает 400 Bad Request")
+    void execute_whenNestedBatchPathIsObfuscated_thenReturnBadRequest() {
+        for (String path : List.of("//batch", "/./batch", "/users/../batch", "/%62atch", "/batch;x=1",
+                "/Actuator/health", "/users//1")) {
+            webTestClient.post()
+                    .uri("/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(new BatchRequestDto(List.of(new BatchOperationDto("POST", path, null))))
+                    .exchange()
+                    .expectStatus().isBadRequest();
+        }
+
+        verifyNoInteractions(batchExecutor);
+    }
+
+    @Test
+    @DisplayName("Недопустимый метод операции -> возвращает 400 Bad Request")
+    void execute_whenUnknownMethod_thenReturnBadRequest() {
+        webTestClient.post()
+                .uri("/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new BatchRequestDto(List.of(new BatchOperationDto("TRACE", "/users", null))))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(batchExecutor);
+    }
+
+    @Test
+    @DisplayName("Слишком большой пакет -> возвращает 400 Bad Request")
+    void execute_whenTooManyOperations_thenReturnBadRequest() {
+        List<BatchOperationDto> operations = Collections.nCopies(21, new BatchOperationDto("GET", "/users", null));
+
+        webTestClient.post()
+                .uri("/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new BatchRequestDto(operations))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(batchExecutor);
+    }
+}
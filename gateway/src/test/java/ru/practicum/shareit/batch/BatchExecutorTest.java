@@ -0,0 +1,114 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.batch.dto.BatchOperationDto;
+import ru.practicum.shareit.batch.dto.BatchResultDto;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BatchExecutorTest {
+    private final List<ClientRequest> sentRequests = new CopyOnWriteArrayList<>();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private BatchExecutor batchExecutor;
+
+    @BeforeEach
+    void setUp() {
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            sentRequests.add(request);
+            String path = request.url().getPath();
+            if (path.equals("/users/1")) {
+                return Mono.delay(Duration.ofMillis(100)).thenReturn(json(HttpStatus.OK, "{\"id\":1}"));
+            }
+            if (path.equals("/items/404")) {
+                return Mono.just(json(HttpStatus.NOT_FOUND, "{\"error\":\"Not Found\"}"));
+            }
+            if (path.equals("/items/broken")) {
+                return Mono.error(new IllegalStateException("connection reset"));
+            }
+            return Mono.just(ClientResponse.create(HttpStatus.NO_CONTENT).build());
+        });
+        batchExecutor = new BatchExecutor(builder, objectMapper, 4);
+
+        WebServerInitializedEvent event = mock(WebServerInitializedEvent.class, Answers.RETURNS_DEEP_STUBS);
+        when(event.getApplicationContext().getServerNamespace()).thenReturn(null);
+        when(event.getWebServer().getPort()).thenReturn(8080);
+        batchExecutor.onWebServerInitialized(event);
+    }
+
+    @Test
+    @DisplayName("Операции с разной длительностью -> результаты в порядке запроса со статусами")
+    void execute_whenOperationsFinishOutOfOrder_thenKeepRequestOrder() {
+        List<BatchResultDto> results = batchExecutor.execute(List.of(
+                new BatchOperationDto("GET", "/users/1", null),
+                new BatchOperationDto("GET", "/items/404", null),
+                new BatchOperationDto("DELETE", "/users/2", null)), 7L, null).block();
+
+        assertThat(results).extracting(BatchResultDto::getStatus).containsExactly(200, 404, 204);
+        assertThat(results.get(0).getBody().get("id").asInt()).isEqualTo(1);
+        assertThat(results.get(2).getBody()).isNull();
+        assertThat(sentRequests).allSatisfy(request ->
+                assertThat(request.headers().getFirst("X-Sharer-User-Id")).isEqualTo("7"));
+        assertThat(sentRequests.getFirst().url().toString()).isEqualTo("http://localhost:8080/users/1");
+    }
+
+    @Test
+    @DisplayName("Операция с телом -> тело передается как JSON")
+    void execute_whenOperationHasBody_thenSendJson() {
+        batchExecutor.execute(List.of(new BatchOperationDto(
+                "POST", "/items/1/comment", objectMapper.createObjectNode().put("text", "Отлично"))), 7L, null).block();
+
+        ClientRequest request = sentRequests.getFirst();
+        assertThat(request.method()).isEqualTo(HttpMethod.POST);
+        assertThat(request.headers().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    @DisplayName("Сбой одной операции -> остальные результаты возвращаются, сбойная получает 500")
+    void execute_whenOperationFails_thenReturnErrorEntry() {
+        List<BatchResultDto> results = batchExecutor.execute(List.of(
+                new BatchOperationDto("GET", "/items/broken", null),
+                new BatchOperationDto("GET", "/users/1", null)), null, null).block();
+
+        assertThat(results).extracting(BatchResultDto::getStatus).containsExactly(500, 200);
+        assertThat(results.get(0).getBody().get("reason").asText()).isEqualTo("Ошибка сервера");
+        assertThat(sentRequests.getFirst().headers().containsKey("X-Sharer-User-Id")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Пакет анонимного клиента -> подзапросы несут ключ лимита исходного клиента")
+    void execute_whenRateLimitKeyKnown_thenForwardItToSubRequests() {
+        batchExecutor.execute(List.of(
+                new BatchOperationDto("GET", "/items/search?text=drill", null),
+                new BatchOperationDto("GET", "/items/404", null)), null, "ip:203.0.113.7").block();
+
+        assertThat(sentRequests).hasSize(2).allSatisfy(request ->
+                assertThat(request.headers().getFirst("X-Shareit-Rate-Limit-Key")).isEqualTo("ip:203.0.113.7"));
+        assertThat(sentRequests.getFirst().headers().getFirst("X-Shareit-Rate-Limit-Token")).isNotBlank();
+    }
+
+    private static ClientResponse json(HttpStatus status, String body) {
+        return ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+}
@@ -0,0 +1,160 @@
+package ru.practicum.shareit.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.NettyServerConfig;
+import ru.practicum.shareit.client.HttpClientConfig;
+import ru.practicum.shareit.client.ServerNodesConfig;
+import ru.practicum.shareit.client.WebClientConfig;
+import ru.practicum.shareit.exception.ErrorHandler;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.ItemController;
+import ru.practicum.shareit.item.cache.ItemCacheConfig;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class GatewayLoadBenchmark {
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 5_000);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("benchmark.requests", 4);
+    private static final long SERVER_LATENCY_MS = Long.getLong("benchmark.latency-ms", 50);
+    private static final byte[] SERVER_BODY = "[]".getBytes(StandardCharsets.UTF_8);
+
+    private static HttpServer server;
+    private static ExecutorService serverExecutor;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        System.setProperty("sun.net.httpserver.maxIdleConnections", String.valueOf(CLIENTS));
+        serverExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), CLIENTS);
+        server.createContext("/items", exchange -> {
+            try {
+                Thread.sleep(SERVER_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, SERVER_BODY.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(SERVER_BODY);
+            }
+        });
+        server.setExecutor(serverExecutor);
+        server.start();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Нагрузка 5000 клиентов -> пропускная способность в блокирующем, виртуальном и реактивном режимах")
+    void compareThroughput() throws Exception {
+        double platform = measure();
+        double virtual = measure("virtual-threads");
+        double reactive = measure("reactive");
+
+        System.out.printf("gateway platform threads: %.0f req/s%n", platform);
+        System.out.printf("gateway virtual threads:  %.0f req/s%n", virtual);
+        System.out.printf("gateway reactive:         %.0f req/s%n", reactive);
+    }
+
+    private double measure(String... profiles) throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BenchmarkGateway.class)
+                .profiles(profiles);
+
+        try (ConfigurableApplicationContext context = builder.run(
+                "--server.port=0",
+                "--shareit-server.url=http://localhost:" + server.getAddress().getPort(),
+                "--server.tomcat.max-connections=10000",
+                "--server.tomcat.accept-count=" + CLIENTS,
+                "--shareit-server.item-cache.enabled=false",
+                "--shareit-server.health-check-enabled=false",
+                "--resilience4j.bulkhead.configs.default.max-concurrent-calls=" + CLIENTS,
+                "--logging.level.ru.practicum.shareit=WARN"
+        )) {
+            URI uri = URI.create("http://localhost:"
+                    + context.getEnvironment().getProperty("local.server.port") + "/items");
+            runLoad(uri, 1);
+            return runLoad(uri, REQUESTS_PER_CLIENT);
+        }
+    }
+
+    private double runLoad(URI uri, int requestsPerClient) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("X-Sharer-User-Id", "1")
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .executor(clients)
+                     .connectTimeout(Duration.ofSeconds(30))
+                     .build()) {
+            List<Future<?>> futures = new ArrayList<>(CLIENTS);
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < requestsPerClient; j++) {
+                        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - startedAt;
+
+            assertThat(failures.get()).isZero();
+            return (double) CLIENTS * requestsPerClient / elapsed * 1_000_000_000L;
+        }
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration(exclude = {DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class})
+    @Import({ItemController.class, ItemClient.class, HttpClientConfig.class, WebClientConfig.class,
+            ServerNodesConfig.class, NettyServerConfig.class, ItemCacheConfig.class, ErrorHandler.class})
+    static class BenchmarkGateway {
+    }
+}
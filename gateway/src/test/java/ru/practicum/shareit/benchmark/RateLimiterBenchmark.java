@@ -0,0 +1,97 @@
+package ru.practicum.shareit.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import ru.practicum.shareit.ratelimit.RateLimitProperties;
+import ru.practicum.shareit.ratelimit.RateLimiter;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class RateLimiterBenchmark {
+    private static final double TARGET_REQUESTS_PER_SECOND = 50_000;
+
+    @Test
+    @DisplayName("Лимитер при 50k запросов в секунду -> накладные расходы пренебрежимо малы")
+    void measureOverhead() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(RateLimiterBenchmark.class.getName() + ".Limiter")
+                .forks(0)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        double budgetNanos = TimeUnit.SECONDS.toNanos(1) / TARGET_REQUESTS_PER_SECOND;
+        for (RunResult result : results) {
+            double nanosPerCall = result.getPrimaryResult().getScore();
+            System.out.printf("%s: %.1f ns/op (%.2f%% of a %.0f ns request budget)%n",
+                    result.getParams().getBenchmark(), nanosPerCall, nanosPerCall / budgetNanos * 100, budgetNanos);
+            assertThat(nanosPerCall).isLessThan(budgetNanos / 20);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public static class Limiter {
+        private static final int USERS = 10_000;
+
+        private RateLimiter rateLimiter;
+        private String[] userIds;
+
+        @Setup
+        public void setUp() {
+            RateLimitProperties.RouteCost ownerBookings = new RateLimitProperties.RouteCost();
+            ownerBookings.setMethod("GET");
+            ownerBookings.setPath("/bookings/owner");
+            ownerBookings.setCost(5);
+
+            RateLimitProperties properties = new RateLimitProperties();
+            properties.setCapacity(1_000_000_000L);
+            properties.setRefillPerSecond(1_000_000_000L);
+            properties.setRoutes(List.of(ownerBookings));
+            rateLimiter = new RateLimiter(properties, System::nanoTime);
+
+            userIds = new String[USERS];
+            for (int i = 0; i < USERS; i++) {
+                userIds[i] = String.valueOf(i);
+            }
+        }
+
+        @Benchmark
+        @Threads(Threads.MAX)
+        public long sameUser() {
+            return rateLimiter.tryAcquire("1", "GET", "/items/1");
+        }
+
+        @Benchmark
+        @Threads(Threads.MAX)
+        public long manyUsers() {
+            String userId = userIds[ThreadLocalRandom.current().nextInt(USERS)];
+            return rateLimiter.tryAcquire(userId, "GET", "/bookings/owner");
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+
+@WebMvcTest
+class BookingControllerServletTest extends BookingControllerTest {
+}
@@ -2,11 +2,14 @@ package ru.practicum.shareit.booking;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,20 +17,21 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.exception.ErrorHandler;
 
 import java.time.LocalDateTime;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
-import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest
 @Import({BookingController.class, ErrorHandler.class})
-class BookingControllerTest {
+@ContextConfiguration(classes = BookingControllerTest.TestConfig.class)
+abstract class BookingControllerTest {
 
     @Configuration
     static class TestConfig {
@@ -40,7 +44,7 @@ class BookingControllerTest {
     }
 
     @Autowired
-    private MockMvc mockMvc;
+    private WebTestClient webTestClient;
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -62,140 +66,245 @@ class BookingControllerTest {
     @Test
     @DisplayName("Получение бронирований пользователя с валидными параметрами -> возвращает 200 OK")
     void getBookings_whenValidRequest_thenReturnOk() throws Exception {
-        when(bookingClient.getBookings(anyLong(), any(BookingState.class), anyInt(), anyInt()))
-                .thenReturn(new ResponseEntity<>("[]", HttpStatus.OK));
-
-        mockMvc.perform(get("/bookings")
-                        .header(SHARER_USER_ID, 1L)
-                        .param("state", "ALL")
-                        .param("from", "0")
-                        .param("size", "10"))
-                .andExpect(status().isOk());
+        when(bookingClient.getBookings(anyLong(), any(BookingState.class), anyInt(), anyInt(), any()))
+                .thenReturn(Mono.just(new ResponseEntity<>("[]", HttpStatus.OK)));
+
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/bookings")
+                        .queryParam("state", "ALL")
+                        .queryParam("from", "0")
+                        .queryParam("size", "10")
+                        .build())
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isOk();
     }
 
     @Test
     @DisplayName("Получение бронирований пользователя без заголовка X-Sharer-User-Id -> возвращает 400 Bad Request")
     void getBookings_whenMissingUserIdHeader_thenReturnBadRequest() throws Exception {
-        mockMvc.perform(get("/bookings")
-                        .param("state", "ALL")
-                        .param("from", "0")
-                        .param("size", "10"))
-                .andExpect(status().isBadRequest());
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/bookings")
+                        .queryParam("state", "ALL")
+                        .queryParam("from", "0")
+                        .queryParam("size", "10")
+                        .build())
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
     @DisplayName("Получение бронирований пользователя с отрицательным параметром 'from' -> возвращает 400 Bad Request")
     void getBookings_whenInvalidFromParameter_thenReturnBadRequest() throws Exception {
-        mockMvc.perform(get("/bookings")
-                        .header(SHARER_USER_ID, 1L)
-                        .param("state", "ALL")
-                        .param("from", "-1")
-                        .param("size", "10"))
-                .andExpect(status().isBadRequest());
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/bookings")
+                        .queryParam("state", "ALL")
+                        .queryParam("from", "-1")
+                        .queryParam("size", "10")
+                        .build())
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
     @DisplayName("Получение бронирований пользователя с параметром 'size' меньше 1 -> возвращает 400 Bad Request")
     void getBookings_whenInvalidSizeParameter_thenReturnBadRequest() throws Exception {
-        mockMvc.perform(get("/bookings")
-                        .header(SHARER_USER_ID, 1L)
-                        .param("state", "ALL")
-                        .param("from", "0")
-                        .param("size", "0"))
-                .andExpect(status().isBadRequest());
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/bookings")
+                        .queryParam("state", "ALL")
+                        .queryParam("from", "0")
+                        .queryParam("size", "0")
+                        .build())
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
     @DisplayName("Получение бронирований пользователя без параметров пагинации -> возвращает 200 OK")
     void getBookings_whenMissingPaginationParameters_thenReturnOk() throws Exception {
-        when(bookingClient.getBookings(anyLong(), any(BookingState.class), anyInt(), anyInt()))
-                .thenReturn(new ResponseEntity<>("[]", HttpStatus.OK));
-
-        mockMvc.perform(get("/bookings")
-                        .header(SHARER_USER_ID, 1L)
-                        .param("state", "ALL"))
-                .andExpect(status().isOk());
+        when(bookingClient.getBookings(anyLong(), any(BookingState.class), anyInt(), anyInt(), any()))
+                .thenReturn(Mono.just(new ResponseEntity<>("[]", HttpStatus.OK)));
+
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/bookings")
+                        .queryParam("state", "ALL")
+                        .build())
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isOk();
     }
 
     @Test
     @DisplayName("Получение бронирований пользователя с неизвестным состоянием -> возвращает 400 Bad Request")
     void getBookings_whenUnknownState_thenReturnBadRequest() throws Exception {
-        mockMvc.perform(get("/bookings")
-                        .header(SHARER_USER_ID, 1L)
-                        .param("state", "UNKNOWN_STATE")
-                        .param("from", "0")
-                        .param("size", "10"))
-                .andExpect(status().isBadRequest());
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/bookings")
+                        .queryParam("state", "UNKNOWN_STATE")
+                        .queryParam("from", "0")
+                        .queryParam("size", "10")
+                        .build())
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Получение бронирований пользователя с курсором -> курсор передается на сервер")
+    void getBookings_whenCursor_thenPassCursorToClient() throws Exception {
+        when(bookingClient.getBookings(anyLong(), any(BookingState.class), anyInt(), anyInt(), any()))
+                .thenReturn(Mono.just(new ResponseEntity<>("[]", HttpStatus.OK)));
+
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/bookings")
+                        .queryParam("state", "ALL")
+                        .queryParam("size", "10")
+                        .queryParam("cursor", "MjAyNi0xMC0xN1QxMDowMHw0Mg")
+                        .build())
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(bookingClient).getBookings(1L, BookingState.ALL, 0, 10, "MjAyNi0xMC0xN1QxMDowMHw0Mg");
     }
 
     @Test
     @DisplayName("Получение бронирований владельца с валидными параметрами -> возвращает 200 OK")
     void getByOwnerId_whenValidRequest_thenReturnOk() throws Exception {
-        when(bookingClient.getBookingsByOwner(anyLong(), any(BookingState.class), anyInt(), anyInt()))
-                .thenReturn(new ResponseEntity<>("[]", HttpStatus.OK));
-
-        mockMvc.perform(get("/bookings/owner")
-                        .header(SHARER_USER_ID, 1L)
-                        .param("state", "ALL")
-                        .param("from", "0")
-                        .param("size", "10"))
-                .andExpect(status().isOk());
+        when(bookingClient.getBookingsByOwner(anyLong(), any(BookingState.class), anyInt(), anyInt(), any()))
+                .thenReturn(Mono.just(new ResponseEntity<>("[]", HttpStatus.OK)));
+
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/bookings/owner")
+                        .queryParam("state", "ALL")
+                        .queryParam("from", "0")
+                        .queryParam("size", "10")
+                        .build())
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    @DisplayName("Получение бронирований владельца при открытом выключателе -> возвращает 503 Service Unavailable")
+    void getByOwnerId_whenCircuitBreakerOpen_thenReturnServiceUnavailable() throws Exception {
+        CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("GET /bookings/owner");
+        circuitBreaker.transitionToOpenState();
+        when(bookingClient.getBookingsByOwner(anyLong(), any(BookingState.class), anyInt(), anyInt(), any()))
+                .thenReturn(Mono.error(CallNotPermittedException.createCallNotPermittedException(circuitBreaker)));
+
+        webTestClient.get()
+                .uri("/bookings/owner")
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Запросы 'GET /bookings/owner' временно не выполняются");
+    }
+
+    @Test
+    @DisplayName("Получение бронирований владельца при заполненном лимите параллельных запросов -> возвращает 503")
+    void getByOwnerId_whenBulkheadFull_thenReturnServiceUnavailable() throws Exception {
+        when(bookingClient.getBookingsByOwner(anyLong(), any(BookingState.class), anyInt(), anyInt(), any()))
+                .thenReturn(Mono.error(BulkheadFullException.createBulkheadFullException(
+                        Bulkhead.ofDefaults("GET /bookings/owner"))));
+
+        webTestClient.get()
+                .uri("/bookings/owner")
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                .expectBody()
+                .jsonPath("$.reason").isEqualTo("Превышен лимит параллельных запросов");
     }
 
     @Test
     @DisplayName("Получение бронирований владельца без заголовка X-Sharer-User-Id -> возвращает 400 Bad Request")
     void getByOwnerId_whenMissingUserIdHeader_thenReturnBadRequest() throws Exception {
-        mockMvc.perform(get("/bookings/owner")
-                        .param("state", "ALL")
-                        .param("from", "0")
-                        .param("size", "10"))
-                .andExpect(status().isBadRequest());
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/bookings/owner")
+                        .queryParam("state", "ALL")
+                        .queryParam("from", "0")
+                        .queryParam("size", "10")
+                        .build())
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
     @DisplayName("Получение бронирований владельца с отрицательным параметром 'from' -> возвращает 400 Bad Request")
     void getByOwnerId_whenInvalidFromParameter_thenReturnBadRequest() throws Exception {
-        mockMvc.perform(get("/bookings/owner")
-                        .header(SHARER_USER_ID, 1L)
-                        .param("state", "ALL")
-                        .param("from", "-1")
-                        .param("size", "10"))
-                .andExpect(status().isBadRequest());
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/bookings/owner")
+                        .queryParam("state", "ALL")
+                        .queryParam("from", "-1")
+                        .queryParam("size", "10")
+                        .build())
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
     @DisplayName("Получение бронирований владельца с параметром 'size' меньше 1 -> возвращает 400 Bad Request")
     void getByOwnerId_whenInvalidSizeParameter_thenReturnBadRequest() throws Exception {
-        mockMvc.perform(get("/bookings/owner")
-                        .header(SHARER_USER_ID, 1L)
-                        .param("state", "ALL")
-                        .param("from", "0")
-                        .param("size", "0"))
-                .andExpect(status().isBadRequest());
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/bookings/owner")
+                        .queryParam("state", "ALL")
+                        .queryParam("from", "0")
+                        .queryParam("size", "0")
+                        .build())
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
     @DisplayName("Получение бронирований владельца с неизвестным состоянием -> возвращает 400 Bad Request")
     void getByOwnerId_whenUnknownState_thenReturnBadRequest() throws Exception {
-        mockMvc.perform(get("/bookings/owner")
-                        .header(SHARER_USER_ID, 1L)
-                        .param("state", "UNKNOWN_STATE")
-                        .param("from", "0")
-                        .param("size", "10"))
-                .andExpect(status().isBadRequest());
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/bookings/owner")
+                        .queryParam("state", "UNKNOWN_STATE")
+                        .queryParam("from", "0")
+                        .queryParam("size", "10")
+                        .build())
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
     @DisplayName("Создание бронирования с валидными данными -> возвращает 200 OK")
     void bookItem_whenValidRequest_thenReturnOk() throws Exception {
-        when(bookingClient.bookItem(anyLong(), any(BookItemRequestDto.class)))
-                .thenReturn(new ResponseEntity<>("{}", HttpStatus.OK));
-
-        mockMvc.perform(post("/bookings")
-                        .header(SHARER_USER_ID, 1L)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(bookItemRequestDto)))
-                .andExpect(status().isOk());
+        when(bookingClient.bookItem(anyLong(), any(BookItemRequestDto.class), isNull()))
+                .thenReturn(Mono.just(new ResponseEntity<>("{}", HttpStatus.OK)));
+
+        webTestClient.post()
+                .uri("/bookings")
+                .header(SHARER_USER_ID, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(objectMapper.writeValueAsString(bookItemRequestDto))
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    @DisplayName("Создание бронирования с ключом идемпотентности -> ключ передается на сервер")
+    void bookItem_whenIdempotencyKeyPresent_thenPassItToClient() throws Exception {
+        when(bookingClient.bookItem(anyLong(), any(BookItemRequestDto.class), anyString()))
+                .thenReturn(Mono.just(new ResponseEntity<>("{}", HttpStatus.OK)));
+
+        webTestClient.post()
+                .uri("/bookings")
+                .header(SHARER_USER_ID, "1")
+                .header("Idempotency-Key", "booking-42")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(objectMapper.writeValueAsString(bookItemRequestDto))
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(bookingClient).bookItem(eq(1L), any(BookItemRequestDto.class), eq("booking-42"));
     }
 
     @Test
@@ -203,100 +312,124 @@ class BookingControllerTest {
     void bookItem_whenInvalidRequest_thenReturnBadRequest() throws Exception {
         BookItemRequestDto invalidRequest = new BookItemRequestDto();
 
-        mockMvc.perform(post("/bookings")
-                        .header(SHARER_USER_ID, 1L)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(invalidRequest)))
-                .andExpect(status().isBadRequest());
+        webTestClient.post()
+                .uri("/bookings")
+                .header(SHARER_USER_ID, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(objectMapper.writeValueAsString(invalidRequest))
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
     @DisplayName("Создание бронирования без заголовка X-Sharer-User-Id -> возвращает 400 Bad Request")
     void bookItem_whenMissingUserIdHeader_thenReturnBadRequest() throws Exception {
-        mockMvc.perform(post("/bookings")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(bookItemRequestDto)))
-                .andExpect(status().isBadRequest());
+        webTestClient.post()
+                .uri("/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(objectMapper.writeValueAsString(bookItemRequestDto))
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
     @DisplayName("Получение бронирования по ID -> возвращает 200 OK")
     void getBooking_whenValidRequest_thenReturnOk() throws Exception {
         when(bookingClient.getBooking(anyLong(), anyLong()))
-                .thenReturn(new ResponseEntity<>("{}", HttpStatus.OK));
+                .thenReturn(Mono.just(new ResponseEntity<>("{}", HttpStatus.OK)));
 
-        mockMvc.perform(get("/bookings/1")
-                        .header(SHARER_USER_ID, 1L))
-                .andExpect(status().isOk());
+        webTestClient.get()
+                .uri("/bookings/1")
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isOk();
     }
 
     @Test
     @DisplayName("Получение бронирования по ID без заголовка X-Sharer-User-Id -> возвращает 400 Bad Request")
     void getBooking_whenMissingUserIdHeader_thenReturnBadRequest() throws Exception {
-        mockMvc.perform(get("/bookings/1"))
-                .andExpect(status().isBadRequest());
+        webTestClient.get()
+                .uri("/bookings/1")
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
     @DisplayName("Получение несуществующего бронирования по ID -> возвращает 404 Not Found")
     void getBooking_whenBookingNotFound_thenReturnNotFound() throws Exception {
         when(bookingClient.getBooking(anyLong(), anyLong()))
-                .thenReturn(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+                .thenReturn(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
 
-        mockMvc.perform(get("/bookings/999")
-                        .header(SHARER_USER_ID, 1L))
-                .andExpect(status().isNotFound());
+        webTestClient.get()
+                .uri("/bookings/999")
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isNotFound();
     }
 
     @Test
     @DisplayName("Подтверждение бронирования -> возвращает 200 OK")
     void approveBooking_whenApproved_thenReturnOk() throws Exception {
         when(bookingClient.approveBooking(anyLong(), anyLong(), anyBoolean()))
-                .thenReturn(new ResponseEntity<>("{}", HttpStatus.OK));
-
-        mockMvc.perform(patch("/bookings/1")
-                        .header(SHARER_USER_ID, 1L)
-                        .param("approved", "true"))
-                .andExpect(status().isOk());
+                .thenReturn(Mono.just(new ResponseEntity<>("{}", HttpStatus.OK)));
+
+        webTestClient.patch()
+                .uri(uriBuilder -> uriBuilder.path("/bookings/1")
+                        .queryParam("approved", "true")
+                        .build())
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isOk();
     }
 
     @Test
     @DisplayName("Отклонение бронирования -> возвращает 200 OK")
     void approveBooking_whenRejected_thenReturnOk() throws Exception {
         when(bookingClient.approveBooking(anyLong(), anyLong(), anyBoolean()))
-                .thenReturn(new ResponseEntity<>("{}", HttpStatus.OK));
-
-        mockMvc.perform(patch("/bookings/1")
-                        .header(SHARER_USER_ID, 1L)
-                        .param("approved", "false"))
-                .andExpect(status().isOk());
+                .thenReturn(Mono.just(new ResponseEntity<>("{}", HttpStatus.OK)));
+
+        webTestClient.patch()
+                .uri(uriBuilder -> uriBuilder.path("/bookings/1")
+                        .queryParam("approved", "false")
+                        .build())
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isOk();
     }
 
     @Test
     @DisplayName("Подтверждение бронирования без заголовка X-Sharer-User-Id -> возвращает 400 Bad Request")
     void approveBooking_whenMissingUserIdHeader_thenReturnBadRequest() throws Exception {
-        mockMvc.perform(patch("/bookings/1")
-                        .param("approved", "true"))
-                .andExpect(status().isBadRequest());
+        webTestClient.patch()
+                .uri(uriBuilder -> uriBuilder.path("/bookings/1")
+                        .queryParam("approved", "true")
+                        .build())
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
     @DisplayName("Подтверждение бронирования без параметра 'approved' -> возвращает 400 Bad Request")
     void approveBooking_whenMissingApprovedParameter_thenReturnBadRequest() throws Exception {
-        mockMvc.perform(patch("/bookings/1")
-                        .header(SHARER_USER_ID, 1L))
-                .andExpect(status().isBadRequest());
+        webTestClient.patch()
+                .uri("/bookings/1")
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
     @DisplayName("Подтверждение несуществующего бронирования -> возвращает 404 Not Found")
     void approveBooking_whenBookingNotFound_thenReturnNotFound() throws Exception {
         when(bookingClient.approveBooking(anyLong(), anyLong(), anyBoolean()))
-                .thenReturn(new ResponseEntity<>(HttpStatus.NOT_FOUND));
-
-        mockMvc.perform(patch("/bookings/999")
-                        .header(SHARER_USER_ID, 1L)
-                        .param("approved", "true"))
-                .andExpect(status().isNotFound());
+                .thenReturn(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
+
+        webTestClient.patch()
+                .uri(uriBuilder -> uriBuilder.path("/bookings/999")
+                        .queryParam("approved", "true")
+                        .build())
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isNotFound();
     }
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoalescingServerTransportTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger serverCalls = new AtomicInteger();
+    private Sinks.One<ResponseEntity<Object>> serverResponse = Sinks.one();
+    private final ServerTransport transport = new CoalescingServerTransport(
+            (method, path, headers, parameters, body) -> Mono.defer(() -> {
+                serverCalls.incrementAndGet();
+                return serverResponse.asMono();
+            }),
+            registry,
+            "/items"
+    );
+
+    @Test
+    @DisplayName("Одновременные одинаковые GET -> один запрос к серверу, ответ получают все")
+    void exchange_whenConcurrentIdenticalGets_thenShareOneServerCall() {
+        Map<String, Object> parameters = Map.of("text", "дрель");
+        CompletableFuture<ResponseEntity<Object>> first = transport
+                .exchange(HttpMethod.GET, "/search?text={text}", headers(7), parameters, null).toFuture();
+        CompletableFuture<ResponseEntity<Object>> second = transport
+                .exchange(HttpMethod.GET, "/search?text={text}", headers(7), parameters, null).toFuture();
+
+        ResponseEntity<Object> response = ResponseEntity.ok("ответ");
+        serverResponse.tryEmitValue(response);
+
+        assertThat(first.join()).isSameAs(response);
+        assertThat(second.join()).isSameAs(response);
+        assertThat(serverCalls.get()).isEqualTo(1);
+        assertThat(registry.get("shareit.gateway.coalescing.requests").tag("client", "/items").counter().count())
+                .isEqualTo(2);
+        assertThat(registry.get("shareit.gateway.coalescing.merged").tag("client", "/items").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("GET разных пользователей -> отдельные запросы к серверу")
+    void exchange_whenDifferentUsers_thenDoNotCoalesce() {
+        transport.exchange(HttpMethod.GET, "/1", headers(7), null, null).subscribe();
+        transport.exchange(HttpMethod.GET, "/1", headers(8), null, null).subscribe();
+
+        assertThat(serverCalls.get()).isEqualTo(2);
+        assertThat(registry.get("shareit.gateway.coalescing.merged").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Изменяющие запросы -> не объединяются")
+    void exchange_whenPost_thenDoNotCoalesce() {
+        transport.exchange(HttpMethod.POST, "/1/comment", headers(7), null, "текст").subscribe();
+        transport.exchange(HttpMethod.POST, "/1/comment", headers(7), null, "текст").subscribe();
+
+        assertThat(serverCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Запрос после завершения предыдущего -> новый запрос к серверу")
+    void exchange_whenPreviousCallCompleted_thenCallServerAgain() {
+        serverResponse.tryEmitValue(ResponseEntity.ok("первый"));
+        transport.exchange(HttpMethod.GET, "/1", headers(7), null, null).block();
+
+        serverResponse = Sinks.one();
+        serverResponse.tryEmitValue(ResponseEntity.ok("второй"));
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, "/1", headers(7), null, null).block();
+
+        assertThat(serverCalls.get()).isEqualTo(2);
+        assertThat(response.getBody()).isEqualTo("второй");
+    }
+
+    private static HttpHeaders headers(long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        return headers;
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HedgingPolicyTest {
+    private static final String ROUTE = "GET /users/{id}";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Мало замеров -> задержка равна максимальной")
+    void delayFor_whenFewSamples_thenMaxDelay() {
+        HedgingPolicy policy = new HedgingPolicy(properties(0.1), registry);
+
+        assertThat(policy.delayFor(ROUTE)).isEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("Резервные запросы -> не больше доли от основных")
+    void tryAcquireHedge_whenBudgetSpent_thenSkip() {
+        HedgingPolicy policy = new HedgingPolicy(properties(0.1), registry);
+        for (int i = 0; i < 100; i++) {
+            policy.delayFor(ROUTE);
+        }
+
+        int hedges = 0;
+        while (policy.tryAcquireHedge()) {
+            hedges++;
+        }
+
+        assertThat(hedges).isEqualTo(10);
+        assertThat(registry.get("shareit.gateway.hedging.sent").counter().count()).isEqualTo(10);
+        assertThat(registry.get("shareit.gateway.hedging.skipped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Накопленный бюджет -> ограничен, чтобы не было всплеска резервных запросов")
+    void tryAcquireHedge_whenLongIdle_thenBudgetCapped() {
+        HedgingPolicy policy = new HedgingPolicy(properties(0.5), registry);
+        for (int i = 0; i < 1000; i++) {
+            policy.delayFor(ROUTE);
+        }
+
+        int hedges = 0;
+        while (policy.tryAcquireHedge()) {
+            hedges++;
+        }
+
+        assertThat(hedges).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Замеры задержек -> публикуются как метрика маршрута")
+    void recordLatency_whenRecorded_thenTimerUpdated() {
+        HedgingPolicy policy = new HedgingPolicy(properties(0.1), registry);
+
+        policy.recordLatency(ROUTE, TimeUnit.MILLISECONDS.toNanos(30));
+
+        assertThat(registry.get("shareit.gateway.hedging.latency").tag("route", ROUTE).timer().count())
+                .isEqualTo(1);
+    }
+
+    private static HedgingProperties properties(double maxExtraLoad) {
+        HedgingProperties properties = new HedgingProperties();
+        properties.setEnabled(true);
+        properties.setMaxExtraLoad(maxExtraLoad);
+        return properties;
+    }
+}
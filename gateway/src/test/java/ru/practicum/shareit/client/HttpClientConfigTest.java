@@ -0,0 +1,41 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpClientConfigTest {
+
+    private final HttpClientConfig config = new HttpClientConfig();
+
+    @Test
+    @DisplayName("Создание пула соединений -> лимиты берутся из настроек")
+    void shareItConnectionManager_whenPropertiesSet_thenApplyLimits() {
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setMaxTotal(50);
+        properties.setMaxPerRoute(20);
+
+        try (PoolingHttpClientConnectionManager manager = config.shareItConnectionManager(properties)) {
+            assertThat(manager.getMaxTotal()).isEqualTo(50);
+            assertThat(manager.getDefaultMaxPerRoute()).isEqualTo(20);
+        }
+    }
+
+    @Test
+    @DisplayName("Регистрация метрик пула -> метрики пула доступны в реестре")
+    void shareItConnectionPoolMetrics_whenBound_thenPoolGaugesRegistered() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        try (PoolingHttpClientConnectionManager manager =
+                     config.shareItConnectionManager(new HttpClientProperties())) {
+            config.shareItConnectionPoolMetrics(manager, registry);
+
+            assertThat(registry.find("httpcomponents.httpclient.pool.total.pending").gauge()).isNotNull();
+            assertThat(registry.find("httpcomponents.httpclient.pool.total.connections")
+                    .tag("state", "leased").gauge()).isNotNull();
+        }
+    }
+}
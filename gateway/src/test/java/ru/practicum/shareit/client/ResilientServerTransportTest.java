@@ -0,0 +1,175 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.env.PropertiesPropertySourceLoader;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResilientServerTransportTest {
+    private final CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .slidingWindowSize(4)
+            .minimumNumberOfCalls(4)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofMinutes(1))
+            .build());
+    private final BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+            .maxConcurrentCalls(1)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+
+    private HttpStatus serverStatus = HttpStatus.OK;
+    private final Sinks.One<ResponseEntity<Object>> slowResponse = Sinks.one();
+
+    private final ServerTransport transport = new ResilientServerTransport(
+            (method, path, headers, parameters, body) -> path.startsWith("/owner")
+                    ? slowResponse.asMono()
+                    : Mono.fromSupplier(() -> ResponseEntity.status(serverStatus).build()),
+            "/bookings",
+            circuitBreakers,
+            bulkheads
+    );
+
+    @Test
+    @DisplayName("Маршрут с параметрами и идентификаторами -> имя маршрута без них")
+    void routeOf_whenPathHasIdsAndQuery_thenNormalize() {
+        ResilientServerTransport resilient = (ResilientServerTransport) transport;
+
+        assertThat(resilient.routeOf(HttpMethod.PATCH, "/15?approved={approved}"))
+                .isEqualTo("PATCH /bookings/{id}");
+        assertThat(resilient.routeOf(HttpMethod.GET, "/owner?state={state}&from={from}"))
+                .isEqualTo("GET /bookings/owner");
+    }
+
+    @Test
+    @DisplayName("Ошибки сервера -> выключатель размыкается, ответы 5xx передаются без изменений")
+    void exchange_whenServerFails_thenOpenCircuit() {
+        serverStatus = HttpStatus.INTERNAL_SERVER_ERROR;
+        for (int i = 0; i < 4; i++) {
+            ResponseEntity<Object> response = get("/1").block();
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+
+        assertThat(circuitBreakers.circuitBreaker("GET /bookings/{id}").getState())
+                .isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> get("/2").block()).isInstanceOf(CallNotPermittedException.class);
+    }
+
+    @Test
+    @DisplayName("Ошибки клиента -> выключатель остается замкнутым")
+    void exchange_whenClientErrors_thenKeepCircuitClosed() {
+        serverStatus = HttpStatus.NOT_FOUND;
+        for (int i = 0; i < 4; i++) {
+            get("/1").block();
+        }
+
+        assertThat(circuitBreakers.circuitBreaker("GET /bookings/{id}").getState())
+                .isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Медленный маршрут занял свой лимит -> другие маршруты продолжают работать")
+    void exchange_whenSlowRouteSaturated_thenOtherRoutesUnaffected() {
+        get("/owner?state={state}").subscribe();
+
+        assertThatThrownBy(() -> get("/owner?state={state}").block()).isInstanceOf(BulkheadFullException.class);
+        assertThat(get("/1").block().getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        slowResponse.tryEmitValue(ResponseEntity.ok().build());
+        assertThat(bulkheads.bulkhead("GET /bookings/owner").getMetrics().getAvailableConcurrentCalls())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Медленный маршрут исчерпал настроенный лимит -> дешевый маршрут отвечает")
+    void exchange_whenConfiguredBulkheadSaturated_thenCheapRouteStaysResponsive() throws IOException {
+        StandardEnvironment environment = environment();
+        int poolPerRoute = environment.getRequiredProperty("shareit-server.http.max-per-route", Integer.class);
+        BulkheadRegistry configured = bulkheadRegistry(environment);
+        int routeLimit = configured.getDefaultConfig().getMaxConcurrentCalls();
+        ServerTransport resilient = new ResilientServerTransport(
+                (method, path, headers, parameters, body) -> path.startsWith("/owner")
+                        ? slowResponse.asMono()
+                        : Mono.fromSupplier(() -> ResponseEntity.ok().build()),
+                "/bookings",
+                circuitBreakers,
+                configured
+        );
+
+        AtomicInteger rejected = new AtomicInteger();
+        for (int i = 0; i < routeLimit; i++) {
+            resilient.exchange(HttpMethod.GET, "/owner", new HttpHeaders(), Map.of(), null)
+                    .subscribe(response -> { }, e -> rejected.incrementAndGet());
+        }
+
+        assertThat(routeLimit).isLessThanOrEqualTo(poolPerRoute / 4);
+        assertThat(configured.getDefaultConfig().getMaxWaitDuration()).isLessThanOrEqualTo(Duration.ofMillis(50));
+        assertThat(rejected.get()).isZero();
+        assertThatThrownBy(() -> resilient.exchange(HttpMethod.GET, "/owner", new HttpHeaders(), Map.of(), null)
+                .block(Duration.ofSeconds(1))).isInstanceOf(BulkheadFullException.class);
+        assertThat(resilient.exchange(HttpMethod.GET, "/1", new HttpHeaders(), Map.of(), null)
+                .block(Duration.ofSeconds(1)).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        slowResponse.tryEmitValue(ResponseEntity.ok().build());
+        assertThat(configured.bulkhead("GET /bookings/owner").getMetrics().getAvailableConcurrentCalls())
+                .isEqualTo(routeLimit);
+    }
+
+    @Test
+    @DisplayName("Профиль виртуальных потоков -> лимит маршрута растет, но остается долей пула соединений")
+    void bulkheadConfig_whenVirtualThreadsProfile_thenStayBelowConnectionPool() throws IOException {
+        StandardEnvironment environment = environment("virtual-threads");
+
+        assertThat(bulkheadRegistry(environment).getDefaultConfig().getMaxConcurrentCalls())
+                .isEqualTo(250)
+                .isLessThanOrEqualTo(
+                        environment.getRequiredProperty("shareit-server.http.max-per-route", Integer.class) / 4);
+    }
+
+    private static StandardEnvironment environment(String... profiles) throws IOException {
+        PropertiesPropertySourceLoader loader = new PropertiesPropertySourceLoader();
+        StandardEnvironment environment = new StandardEnvironment();
+        for (String profile : profiles) {
+            String name = "application-" + profile + ".properties";
+            loader.load(name, new ClassPathResource(name)).forEach(environment.getPropertySources()::addLast);
+        }
+        loader.load("application.properties", new ClassPathResource("application.properties"))
+                .forEach(environment.getPropertySources()::addLast);
+        return environment;
+    }
+
+    private static BulkheadRegistry bulkheadRegistry(StandardEnvironment environment) {
+        return BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(environment.getRequiredProperty(
+                        "resilience4j.bulkhead.configs.default.max-concurrent-calls", Integer.class))
+                .maxWaitDuration(DurationStyle.detectAndParse(environment.getRequiredProperty(
+                        "resilience4j.bulkhead.configs.default.max-wait-duration")))
+                .build());
+    }
+
+    private Mono<ResponseEntity<Object>> get(String path) {
+        return transport.exchange(HttpMethod.GET, path, new HttpHeaders(), Map.of(), null);
+    }
+}
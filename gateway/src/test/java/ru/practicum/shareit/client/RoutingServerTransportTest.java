@@ -0,0 +1,165 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RoutingServerTransportTest {
+    private static final List<String> NODES = List.of("http://localhost:9090", "http://localhost:9091");
+
+    private final ServerNodes serverNodes = new ServerNodes(NODES, 128);
+    private final List<String> calledNodes = new CopyOnWriteArrayList<>();
+    private final Set<String> refusing = ConcurrentHashMap.newKeySet();
+    private final Set<String> timingOut = ConcurrentHashMap.newKeySet();
+    private final HedgingPolicy hedgingPolicy = new HedgingPolicy(hedging(), new SimpleMeterRegistry());
+    private final Map<String, Duration> latency = new ConcurrentHashMap<>();
+    private final ServerTransport transport = new RoutingServerTransport(serverNodes, "/items", hedgingPolicy,
+            node -> (method, path, headers, parameters, body) -> Mono.defer(() -> {
+                calledNodes.add(node);
+                if (refusing.contains(node)) {
+                    return Mono.error(new ResourceAccessException("I/O error", new ConnectException("refused")));
+                }
+                if (timingOut.contains(node)) {
+                    return Mono.error(new ResourceAccessException("I/O error", new SocketTimeoutException()));
+                }
+                return Mono.just(ResponseEntity.<Object>ok(node))
+                        .delayElement(latency.getOrDefault(node, Duration.ZERO));
+            }));
+
+    @Test
+    @DisplayName("Запросы пользователя -> идут на его узел кольца")
+    void exchange_whenUserHeader_thenRouteToOwnNode() {
+        String expected = serverNodes.candidates("7").getFirst();
+
+        assertThat(send(HttpMethod.GET, userHeaders("7")).getBody()).isEqualTo(expected);
+        assertThat(send(HttpMethod.POST, userHeaders("7")).getBody()).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Узел отказывает в соединении -> узел помечается недоступным, запрос уходит на следующий")
+    void exchange_whenConnectionRefused_thenFailOver() {
+        List<String> candidates = serverNodes.candidates("7");
+        refusing.add(candidates.getFirst());
+
+        ResponseEntity<Object> response = send(HttpMethod.POST, userHeaders("7"));
+
+        assertThat(response.getBody()).isEqualTo(candidates.get(1));
+        assertThat(serverNodes.isUp(candidates.getFirst())).isFalse();
+        assertThat(calledNodes).containsExactly(candidates.getFirst(), candidates.get(1));
+    }
+
+    @Test
+    @DisplayName("Таймаут ответа -> запрос не повторяется на другом узле")
+    void exchange_whenTimeout_thenDoNotRetry() {
+        List<String> candidates = serverNodes.candidates("7");
+        timingOut.add(candidates.getFirst());
+
+        assertThatThrownBy(() -> send(HttpMethod.POST, userHeaders("7"))).isInstanceOf(ResourceAccessException.class);
+        assertThat(calledNodes).containsExactly(candidates.getFirst());
+        assertThat(serverNodes.isUp(candidates.getFirst())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Запрос к конкретному узлу -> идет на этот узел без служебного заголовка")
+    void exchange_whenNodePinned_thenUseThatNode() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(ServerNodes.NODE_HEADER, NODES.get(1));
+        List<HttpHeaders> forwarded = new ArrayList<>();
+        ServerTransport pinned = new RoutingServerTransport(serverNodes, "/items", hedgingPolicy,
+                node -> (method, path, sentHeaders, parameters, body) -> {
+                    forwarded.add(sentHeaders);
+                    return Mono.just(ResponseEntity.ok(node));
+                });
+
+        ResponseEntity<Object> response = pinned.exchange(HttpMethod.GET, "/invalidations", headers, null, null)
+                .block();
+
+        assertThat(response.getBody()).isEqualTo(NODES.get(1));
+        assertThat(forwarded.getFirst().containsKey(ServerNodes.NODE_HEADER)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Основной узел отвечает медленно -> ответ берется с резервного узла")
+    void exchange_whenPrimarySlowAndHedged_thenTakeBackupResponse() {
+        List<String> candidates = serverNodes.candidates("7");
+        latency.put(candidates.getFirst(), Duration.ofSeconds(5));
+        HttpHeaders headers = userHeaders("7");
+        headers.set(ServerNodes.HEDGE_HEADER, "true");
+        earnHedgeBudget();
+
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, "/1", headers, null, null)
+                .block(Duration.ofSeconds(2));
+
+        assertThat(response.getBody()).isEqualTo(candidates.get(1));
+        assertThat(calledNodes).containsExactly(candidates.getFirst(), candidates.get(1));
+    }
+
+    @Test
+    @DisplayName("Основной узел отвечает быстро -> резервный запрос не отправляется")
+    void exchange_whenPrimaryFast_thenDoNotHedge() {
+        HttpHeaders headers = userHeaders("7");
+        headers.set(ServerNodes.HEDGE_HEADER, "true");
+        earnHedgeBudget();
+
+        transport.exchange(HttpMethod.GET, "/1", headers, null, null).block(Duration.ofSeconds(2));
+
+        assertThat(calledNodes).containsExactly(serverNodes.candidates("7").getFirst());
+    }
+
+    @Test
+    @DisplayName("Бюджет резервных запросов исчерпан -> ждем основной узел")
+    void exchange_whenHedgeBudgetExhausted_thenWaitForPrimary() {
+        List<String> candidates = serverNodes.candidates("7");
+        latency.put(candidates.getFirst(), Duration.ofMillis(200));
+        HttpHeaders headers = userHeaders("7");
+        headers.set(ServerNodes.HEDGE_HEADER, "true");
+
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, "/1", headers, null, null)
+                .block(Duration.ofSeconds(2));
+
+        assertThat(response.getBody()).isEqualTo(candidates.getFirst());
+        assertThat(calledNodes).containsExactly(candidates.getFirst());
+    }
+
+    private void earnHedgeBudget() {
+        for (int i = 0; i < 2; i++) {
+            hedgingPolicy.delayFor("GET /items/{id}");
+        }
+    }
+
+    private static HedgingProperties hedging() {
+        HedgingProperties properties = new HedgingProperties();
+        properties.setEnabled(true);
+        properties.setMaxDelay(Duration.ofMillis(20));
+        properties.setMaxExtraLoad(0.5);
+        return properties;
+    }
+
+    private ResponseEntity<Object> send(HttpMethod method, HttpHeaders headers) {
+        return transport.exchange(method, "/items", headers, null, null).block();
+    }
+
+    private static HttpHeaders userHeaders(String userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", userId);
+        return headers;
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ServerNodesTest {
+    private static final List<String> NODES =
+            List.of("http://localhost:9090", "http://localhost:9091", "http://localhost:9092");
+
+    private final ServerNodes serverNodes = new ServerNodes(NODES, 128);
+
+    @Test
+    @DisplayName("Один и тот же пользователь -> всегда один и тот же узел, остальные узлы в резерве")
+    void candidates_whenSameKey_thenSameOrder() {
+        List<String> first = serverNodes.candidates("42");
+
+        assertThat(serverNodes.candidates("42")).isEqualTo(first);
+        assertThat(first).containsExactlyInAnyOrderElementsOf(NODES);
+    }
+
+    @Test
+    @DisplayName("Много пользователей -> нагрузка распределяется по всем узлам")
+    void candidates_whenManyKeys_thenSpreadAcrossNodes() {
+        Map<String, Integer> load = new HashMap<>();
+        for (int userId = 0; userId < 3000; userId++) {
+            load.merge(serverNodes.candidates(String.valueOf(userId)).getFirst(), 1, Integer::sum);
+        }
+
+        assertThat(load).hasSize(3);
+        assertThat(load.values()).allSatisfy(count -> assertThat(count).isBetween(700, 1300));
+    }
+
+    @Test
+    @DisplayName("Удаление узла -> переезжают только пользователи этого узла")
+    void candidates_whenNodeRemoved_thenOnlyItsKeysMove() {
+        ServerNodes withoutLast = new ServerNodes(NODES.subList(0, 2), 128);
+
+        for (int userId = 0; userId < 1000; userId++) {
+            String before = serverNodes.candidates(String.valueOf(userId)).getFirst();
+            String after = withoutLast.candidates(String.valueOf(userId)).getFirst();
+            if (!before.equals(NODES.get(2))) {
+                assertThat(after).isEqualTo(before);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Узел недоступен -> его пользователи уходят на следующий узел кольца")
+    void candidates_whenNodeDown_thenMoveItToEnd() {
+        List<String> healthy = serverNodes.candidates("42");
+
+        serverNodes.markDown(healthy.getFirst());
+
+        assertThat(serverNodes.candidates("42"))
+                .containsExactly(healthy.get(1), healthy.get(2), healthy.getFirst());
+        assertThat(serverNodes.getStatus()).containsEntry(healthy.getFirst(), false);
+
+        serverNodes.markUp(healthy.getFirst());
+        assertThat(serverNodes.candidates("42")).isEqualTo(healthy);
+    }
+
+    @Test
+    @DisplayName("Пустой список узлов -> ошибка конфигурации")
+    void create_whenNoNodes_thenThrow() {
+        assertThatThrownBy(() -> new ServerNodes(List.of(), 128))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WebClientServerTransportTest {
+    private static final String SERVER_URL = "http://localhost:9090/items";
+
+    private final AtomicReference<ClientRequest> sentRequest = new AtomicReference<>();
+
+    @Test
+    @DisplayName("Успешный ответ сервера -> тело и заголовки передаются без разбора JSON")
+    void exchange_whenServerResponds_thenPassBytesAndHeadersThrough() {
+        String json = "[{\"id\":1,\"name\":\"Дрель\"}]";
+        ServerTransport transport = transportRespondingWith(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header("X-Next-Cursor", "abc")
+                .header(HttpHeaders.TRANSFER_ENCODING, "chunked")
+                .body(json)
+                .build());
+
+        ResponseEntity<Object> response = transport.exchange(
+                HttpMethod.GET, "/search?text={text}", headers(), Map.of("text", "дрель"), null).block();
+
+        assertThat(sentRequest.get().method()).isEqualTo(HttpMethod.GET);
+        assertThat(sentRequest.get().url().toString())
+                .isEqualTo(SERVER_URL + "/search?text=%D0%B4%D1%80%D0%B5%D0%BB%D1%8C");
+        assertThat(sentRequest.get().headers().getFirst("X-Sharer-User-Id")).isEqualTo("7");
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(new String((byte[]) response.getBody(), StandardCharsets.UTF_8)).isEqualTo(json);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getHeaders().getFirst("X-Next-Cursor")).isEqualTo("abc");
+        assertThat(response.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Ошибка сервера -> статус и тело передаются клиенту")
+    void exchange_whenServerReturnsError_thenPassErrorThrough() {
+        String json = "{\"error\":\"Not Found\"}";
+        ServerTransport transport = transportRespondingWith(ClientResponse.create(HttpStatus.NOT_FOUND)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(json)
+                .build());
+
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, "/999", headers(), null, null).block();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(new String((byte[]) response.getBody(), StandardCharsets.UTF_8)).isEqualTo(json);
+    }
+
+    @Test
+    @DisplayName("Пустой ответ сервера -> ответ без тела")
+    void exchange_whenServerReturnsNoContent_thenReturnEmptyBody() {
+        ServerTransport transport = transportRespondingWith(ClientResponse.create(HttpStatus.NO_CONTENT).build());
+
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.DELETE, "/1", headers(), null, null).block();
+
+        assertThat(sentRequest.get().method()).isEqualTo(HttpMethod.DELETE);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(response.hasBody()).isFalse();
+    }
+
+    private ServerTransport transportRespondingWith(ClientResponse response) {
+        WebClient webClient = WebClient.builder()
+                .baseUrl(SERVER_URL)
+                .exchangeFunction(request -> {
+                    sentRequest.set(request);
+                    return Mono.just(response);
+                })
+                .build();
+        return new WebClientServerTransport(webClient);
+    }
+
+    private static HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "7");
+        return headers;
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+
+@WebFluxTest
+class ItemControllerReactiveTest extends ItemControllerTest {
+}
@@ -5,7 +5,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,19 +12,23 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.exception.ErrorHandler;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
-import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest
 @Import({ItemController.class, ErrorHandler.class})
-class ItemControllerTest {
+@ContextConfiguration(classes = ItemControllerTest.TestConfig.class)
+abstract class ItemControllerTest {
 
     @Configuration
     static class TestConfig {
@@ -36,7 +39,7 @@ class ItemControllerTest {
     }
 
     @Autowired
-    private MockMvc mockMvc;
+    private WebTestClient webTestClient;
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -62,14 +65,50 @@ class ItemControllerTest {
     @Test
     @DisplayName("Создание предмета с валидными данными -> возвращает 200 OK")
     void create_whenValidItem_thenReturnOk() throws Exception {
-        when(itemClient.create(any(ItemRequestDto.class), anyLong()))
-                .thenReturn(new ResponseEntity<>("{}", HttpStatus.OK));
+        when(itemClient.create(any(ItemRequestDto.class), anyLong(), isNull()))
+                .thenReturn(Mono.just(new ResponseEntity<>("{}", HttpStatus.OK)));
+
+        webTestClient.post()
+                .uri("/items")
+                .header(SHARER_USER_ID, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(objectMapper.writeValueAsString(itemRequestDto))
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    @DisplayName("Создание предмета с ключом идемпотентности -> ключ передается на сервер")
+    void create_whenIdempotencyKeyPresent_thenPassItToClient() throws Exception {
+        when(itemClient.create(any(ItemRequestDto.class), anyLong(), anyString()))
+                .thenReturn(Mono.just(new ResponseEntity<>("{}", HttpStatus.OK)));
+
+        webTestClient.post()
+                .uri("/items")
+                .header(SHARER_USER_ID, "1")
+                .header("Idempotency-Key", "item-42")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(objectMapper.writeValueAsString(itemRequestDto))
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(itemClient).create(any(ItemRequestDto.class), eq(1L), eq("item-42"));
+    }
 
-        mockMvc.perform(post("/items")
-                        .header(SHARER_USER_ID, 1L)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(itemRequestDto)))
-                .andExpect(status().isOk());
+    @Test
+    @DisplayName("Получение предмета -> байты ответа сервера передаются клиенту без изменений")
+    void getById_whenServerReturnsBytes_thenWriteThemAsIs() throws Exception {
+        byte[] serverBody = "{\"id\":1,\"name\":\"Дрель\"}".getBytes(StandardCharsets.UTF_8);
+        when(itemClient.getById(anyLong(), anyLong()))
+                .thenReturn(Mono.just(ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(serverBody)));
+
+        webTestClient.get()
+                .uri("/items/1")
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody(byte[].class).isEqualTo(serverBody);
     }
 
     @Test
@@ -80,190 +119,265 @@ class ItemControllerTest {
         invalidItem.setDescription("");
         invalidItem.setAvailable(null);
 
-        mockMvc.perform(post("/items")
-                        .header(SHARER_USER_ID, 1L)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(invalidItem)))
-                .andExpect(status().isBadRequest());
+        webTestClient.post()
+                .uri("/items")
+                .header(SHARER_USER_ID, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(objectMapper.writeValueAsString(invalidItem))
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
     @DisplayName("Создание предмета без заголовка X-Sharer-User-Id -> возвращает 400 Bad Request")
     void create_whenMissingUserIdHeader_thenReturnBadRequest() throws Exception {
-        mockMvc.perform(post("/items")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(itemRequestDto)))
-                .andExpect(status().isBadRequest());
+        webTestClient.post()
+                .uri("/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(objectMapper.writeValueAsString(itemRequestDto))
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
     @DisplayName("Обновление предмета с валидными данными -> возвращает 200 OK")
     void update_whenValidRequest_thenReturnOk() throws Exception {
         when(itemClient.update(anyLong(), any(ItemRequestDto.class), anyLong()))
-                .thenReturn(new ResponseEntity<>("{}", HttpStatus.OK));
-
-        mockMvc.perform(patch("/items/1")
-                        .header(SHARER_USER_ID, 1L)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(itemRequestDto)))
-                .andExpect(status().isOk());
+                .thenReturn(Mono.just(new ResponseEntity<>("{}", HttpStatus.OK)));
+
+        webTestClient.patch()
+                .uri("/items/1")
+                .header(SHARER_USER_ID, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(objectMapper.writeValueAsString(itemRequestDto))
+                .exchange()
+                .expectStatus().isOk();
     }
 
     @Test
     @DisplayName("Обновление предмета без заголовка X-Sharer-User-Id -> возвращает 400 Bad Request")
     void update_whenMissingUserIdHeader_thenReturnBadRequest() throws Exception {
-        mockMvc.perform(patch("/items/1")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(itemRequestDto)))
-                .andExpect(status().isBadRequest());
+        webTestClient.patch()
+                .uri("/items/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(objectMapper.writeValueAsString(itemRequestDto))
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
     @DisplayName("Обновление несуществующего предмета -> возвращает 404 Not Found")
     void update_whenItemNotFound_thenReturnNotFound() throws Exception {
         when(itemClient.update(anyLong(), any(ItemRequestDto.class), anyLong()))
-                .thenReturn(new ResponseEntity<>(HttpStatus.NOT_FOUND));
-
-        mockMvc.perform(patch("/items/999")
-                        .header(SHARER_USER_ID, 1L)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(itemRequestDto)))
-                .andExpect(status().isNotFound());
+                .thenReturn(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
+
+        webTestClient.patch()
+                .uri("/items/999")
+                .header(SHARER_USER_ID, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(objectMapper.writeValueAsString(itemRequestDto))
+                .exchange()
+                .expectStatus().isNotFound();
     }
 
     @Test
     @DisplayName("Получение предмета по ID -> возвращает 200 OK")
     void getById_whenValidRequest_thenReturnOk() throws Exception {
         when(itemClient.getById(anyLong(), anyLong()))
-                .thenReturn(new ResponseEntity<>("{}", HttpStatus.OK));
+                .thenReturn(Mono.just(new ResponseEntity<>("{}", HttpStatus.OK)));
 
-        mockMvc.perform(get("/items/1")
-                        .header(SHARER_USER_ID, 1L))
-                .andExpect(status().isOk());
+        webTestClient.get()
+                .uri("/items/1")
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isOk();
     }
 
     @Test
     @DisplayName("Получение предмета по ID без заголовка X-Sharer-User-Id -> возвращает 400 Bad Request")
     void getById_whenMissingUserIdHeader_thenReturnBadRequest() throws Exception {
-        mockMvc.perform(get("/items/1"))
-                .andExpect(status().isBadRequest());
+        webTestClient.get()
+                .uri("/items/1")
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
     @DisplayName("Получение несуществующего предмета по ID -> возвращает 404 Not Found")
     void getById_whenItemNotFound_thenReturnNotFound() throws Exception {
         when(itemClient.getById(anyLong(), anyLong()))
-                .thenReturn(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+                .thenReturn(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
 
-        mockMvc.perform(get("/items/999")
-                        .header(SHARER_USER_ID, 1L))
-                .andExpect(status().isNotFound());
+        webTestClient.get()
+                .uri("/items/999")
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isNotFound();
     }
 
     @Test
     @DisplayName("Получение предметов по владельцу -> возвращает 200 OK")
     void getByOwnerId_whenValidRequest_thenReturnOk() throws Exception {
         when(itemClient.getByOwnerId(anyLong()))
-                .thenReturn(new ResponseEntity<>("[]", HttpStatus.OK));
+                .thenReturn(Mono.just(new ResponseEntity<>("[]", HttpStatus.OK)));
 
-        mockMvc.perform(get("/items")
-                        .header(SHARER_USER_ID, 1L))
-                .andExpect(status().isOk());
+        webTestClient.get()
+                .uri("/items")
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isOk();
     }
 
     @Test
     @DisplayName("Получение предметов по владельцу без заголовка X-Sharer-User-Id -> возвращает 400 Bad Request")
     void getByOwnerId_whenMissingUserIdHeader_thenReturnBadRequest() throws Exception {
-        mockMvc.perform(get("/items"))
-                .andExpect(status().isBadRequest());
+        webTestClient.get()
+                .uri("/items")
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
     @DisplayName("Поиск предметов по тексту -> возвращает 200 OK")
     void search_whenValidRequest_thenReturnOk() throws Exception {
-        when(itemClient.search(anyString(), anyInt(), anyInt()))
-                .thenReturn(new ResponseEntity<>("[]", HttpStatus.OK));
-
-        mockMvc.perform(get("/items/search")
-                        .param("text", "дрель")
-                        .param("from", "0")
-                        .param("size", "10"))
-                .andExpect(status().isOk());
+        when(itemClient.search(anyString(), anyInt(), anyInt(), isNull(), isNull()))
+                .thenReturn(Mono.just(new ResponseEntity<>("[]", HttpStatus.OK)));
+
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/items/search")
+                        .queryParam("text", "дрель")
+                        .queryParam("from", "0")
+                        .queryParam("size", "10")
+                        .build())
+                .exchange()
+                .expectStatus().isOk();
     }
 
     @Test
     @DisplayName("Поиск предметов с отрицательным параметром 'from' -> возвращает 400 Bad Request")
     void search_whenInvalidFromParameter_thenReturnBadRequest() throws Exception {
-        mockMvc.perform(get("/items/search")
-                        .param("text", "дрель")
-                        .param("from", "-1")
-                        .param("size", "10"))
-                .andExpect(status().isBadRequest());
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/items/search")
+                        .queryParam("text", "дрель")
+                        .queryParam("from", "-1")
+                        .queryParam("size", "10")
+                        .build())
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
     @DisplayName("Поиск предметов с параметром 'size' меньше 1 -> возвращает 400 Bad Request")
     void search_whenInvalidSizeParameter_thenReturnBadRequest() throws Exception {
-        mockMvc.perform(get("/items/search")
-                        .param("text", "дрель")
-                        .param("from", "0")
-                        .param("size", "0"))
-                .andExpect(status().isBadRequest());
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/items/search")
+                        .queryParam("text", "дрель")
+                        .queryParam("from", "0")
+                        .queryParam("size", "0")
+                        .build())
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
     @DisplayName("Поиск предметов без параметра 'text' -> возвращает 400 Bad Request")
     void search_whenMissingTextParameter_thenReturnBadRequest() throws Exception {
-        mockMvc.perform(get("/items/search")
-                        .param("from", "0")
-                        .param("size", "10"))
-                .andExpect(status().isBadRequest());
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/items/search")
+                        .queryParam("from", "0")
+                        .queryParam("size", "10")
+                        .build())
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
     @DisplayName("Поиск предметов с пустым параметром 'text' -> возвращает 200 OK")
     void search_whenEmptyTextParameter_thenReturnOk() throws Exception {
-        when(itemClient.search(anyString(), anyInt(), anyInt()))
-                .thenReturn(new ResponseEntity<>("[]", HttpStatus.OK));
-
-        mockMvc.perform(get("/items/search")
-                        .param("text", "")
-                        .param("from", "0")
-                        .param("size", "10"))
-                .andExpect(status().isOk());
+        when(itemClient.search(anyString(), anyInt(), anyInt(), isNull(), isNull()))
+                .thenReturn(Mono.just(new ResponseEntity<>("[]", HttpStatus.OK)));
+
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/items/search")
+                        .queryParam("text", "")
+                        .queryParam("from", "0")
+                        .queryParam("size", "10")
+                        .build())
+                .exchange()
+                .expectStatus().isOk();
     }
 
     @Test
     @DisplayName("Поиск предметов без параметров пагинации -> возвращает 200 OK")
     void search_whenMissingPaginationParameters_thenReturnOk() throws Exception {
-        when(itemClient.search(anyString(), anyInt(), anyInt()))
-                .thenReturn(new ResponseEntity<>("[]", HttpStatus.OK));
+        when(itemClient.search(anyString(), anyInt(), anyInt(), isNull(), isNull()))
+                .thenReturn(Mono.just(new ResponseEntity<>("[]", HttpStatus.OK)));
+
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/items/search")
+                        .queryParam("text", "дрель")
+                        .build())
+                .exchange()
+                .expectStatus().isOk();
+    }
 
-        mockMvc.perform(get("/items/search")
-                        .param("text", "дрель"))
-                .andExpect(status().isOk());
+    @Test
+    @DisplayName("Поиск предметов, свободных на период -> период передается на сервер")
+    void search_whenPeriodGiven_thenPassPeriod() {
+        when(itemClient.search(anyString(), anyInt(), anyInt(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Mono.just(new ResponseEntity<>("[]", HttpStatus.OK)));
+
+        webTestClient.get()
+                .uri("/items/search?text=drill&start=2030-01-01T10:00:00&end=2030-01-08T10:00:00")
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(itemClient).search("drill", 0, 10,
+                LocalDateTime.of(2030, 1, 1, 10, 0), LocalDateTime.of(2030, 1, 8, 10, 0));
+    }
+
+    @Test
+    @DisplayName("Поиск предметов только с началом периода -> возвращает 400 Bad Request")
+    void search_whenOnlyStartGiven_thenReturnBadRequest() {
+        webTestClient.get()
+                .uri("/items/search?text=drill&start=2030-01-01T10:00:00")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Поиск предметов с началом периода после окончания -> возвращает 400 Bad Request")
+    void search_whenPeriodInverted_thenReturnBadRequest() {
+        webTestClient.get()
+                .uri("/items/search?text=drill&start=2030-01-08T10:00:00&end=2030-01-01T10:00:00")
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
     @DisplayName("Добавление комментария к предмету -> возвращает 200 OK")
     void addComment_whenValidRequest_thenReturnOk() throws Exception {
         when(itemClient.addComment(anyLong(), any(CommentRequestDto.class), anyLong()))
-                .thenReturn(new ResponseEntity<>("{}", HttpStatus.OK));
-
-        mockMvc.perform(post("/items/1/comment")
-                        .header(SHARER_USER_ID, 1L)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(commentRequestDto)))
-                .andExpect(status().isOk());
+                .thenReturn(Mono.just(new ResponseEntity<>("{}", HttpStatus.OK)));
+
+        webTestClient.post()
+                .uri("/items/1/comment")
+                .header(SHARER_USER_ID, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(objectMapper.writeValueAsString(commentRequestDto))
+                .exchange()
+                .expectStatus().isOk();
     }
 
     @Test
     @DisplayName("Добавление комментария без заголовка X-Sharer-User-Id -> возвращает 400 Bad Request")
     void addComment_whenMissingUserIdHeader_thenReturnBadRequest() throws Exception {
-        mockMvc.perform(post("/items/1/comment")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(commentRequestDto)))
-                .andExpect(status().isBadRequest());
+        webTestClient.post()
+                .uri("/items/1/comment")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(objectMapper.writeValueAsString(commentRequestDto))
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
@@ -272,23 +386,73 @@ class ItemControllerTest {
         CommentRequestDto invalidComment = new CommentRequestDto();
         invalidComment.setText("");
 
-        mockMvc.perform(post("/items/1/comment")
-                        .header(SHARER_USER_ID, 1L)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(invalidComment)))
-                .andExpect(status().isBadRequest());
+        webTestClient.post()
+                .uri("/items/1/comment")
+                .header(SHARER_USER_ID, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(objectMapper.writeValueAsString(invalidComment))
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
     @DisplayName("Добавление комментария к несуществующему предмету -> возвращает 404 Not Found")
     void addComment_whenItemNotFound_thenReturnNotFound() throws Exception {
         when(itemClient.addComment(anyLong(), any(CommentRequestDto.class), anyLong()))
-                .thenReturn(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+                .thenReturn(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
+
+        webTestClient.post()
+                .uri("/items/999/comment")
+                .header(SHARER_USER_ID, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(objectMapper.writeValueAsString(commentRequestDto))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("Получение занятости предмета за период -> возвращает 200 OK")
+    void getAvailability_whenValidPeriod_thenReturnOk() {
+        when(itemClient.getAvailability(anyLong(), anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Mono.just(new ResponseEntity<>("{}", HttpStatus.OK)));
+
+        webTestClient.get()
+                .uri("/items/1/availability?from=2030-01-01T10:00:00&to=2030-01-08T10:00:00")
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(itemClient).getAvailability(1L, 1L,
+                LocalDateTime.of(2030, 1, 1, 10, 0), LocalDateTime.of(2030, 1, 8, 10, 0));
+    }
 
-        mockMvc.perform(post("/items/999/comment")
-                        .header(SHARER_USER_ID, 1L)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(commentRequestDto)))
-                .andExpect(status().isNotFound());
+    @Test
+    @DisplayName("Получение занятости с началом периода после окончания -> возвращает 400 Bad Request")
+    void getAvailability_whenPeriodInverted_thenReturnBadRequest() {
+        webTestClient.get()
+                .uri("/items/1/availability?from=2030-01-08T10:00:00&to=2030-01-01T10:00:00")
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Получение занятости без окончания периода -> возвращает 400 Bad Request")
+    void getAvailability_whenToMissing_thenReturnBadRequest() {
+        webTestClient.get()
+                .uri("/items/1/availability?from=2030-01-01T10:00:00")
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Получение занятости с некорректной датой -> возвращает 400 Bad Request")
+    void getAvailability_whenDateMalformed_thenReturnBadRequest() {
+        webTestClient.get()
+                .uri("/items/1/availability?from=завтра&to=2030-01-01T10:00:00")
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 }
\ No newline at end of file
@@ -0,0 +1,181 @@
+package ru.practicum.shareit.item.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemResponseCacheTest {
+    private static final String EPOCH = "epoch-1";
+    private static final String NODE = "http://localhost:9090";
+
+    private final AtomicInteger serverCalls = new AtomicInteger();
+    private MutableClock clock;
+    private ItemResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        cache = new ItemResponseCache(new ItemCacheProperties(), List.of(NODE), clock);
+        cache.applyInvalidations(NODE, changes(0, false, List.of()));
+    }
+
+    @Test
+    @DisplayName("Повторный запрос вещи -> ответ берется из кэша")
+    void getItem_whenRepeated_thenServeFromCache() {
+        ResponseEntity<Object> first = cache.getItem(1L, 7L, server(HttpStatus.OK)).block();
+        ResponseEntity<Object> second = cache.getItem(1L, 7L, server(HttpStatus.OK)).block();
+
+        assertThat(serverCalls.get()).isEqualTo(1);
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Запросы разных пользователей -> отдельные записи кэша")
+    void getItem_whenDifferentUsers_thenCacheSeparately() {
+        cache.getItem(1L, 7L, server(HttpStatus.OK)).block();
+        cache.getItem(1L, 8L, server(HttpStatus.OK)).block();
+
+        assertThat(serverCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Ошибка сервера -> ответ не кэшируется")
+    void getItem_whenServerReturnsError_thenDoNotCache() {
+        cache.getItem(1L, 7L, server(HttpStatus.NOT_FOUND)).block();
+        cache.getItem(1L, 7L, server(HttpStatus.NOT_FOUND)).block();
+
+        assertThat(serverCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Инвалидация вещи с сервера -> удаляются записи только этой вещи")
+    void applyInvalidations_whenItemChanged_thenEvictOnlyThatItem() {
+        cache.getItem(1L, 7L, server(HttpStatus.OK)).block();
+        cache.getItem(1L, 8L, server(HttpStatus.OK)).block();
+        cache.getItem(2L, 7L, server(HttpStatus.OK)).block();
+        cache.search("дрель", 0, 10, server(HttpStatus.OK)).block();
+
+        cache.applyInvalidations(NODE, changes(1, false, List.of(1L)));
+        cache.getItem(1L, 7L, server(HttpStatus.OK)).block();
+        cache.getItem(1L, 8L, server(HttpStatus.OK)).block();
+        cache.getItem(2L, 7L, server(HttpStatus.OK)).block();
+        cache.search("дрель", 0, 10, server(HttpStatus.OK)).block();
+
+        assertThat(serverCalls.get()).isEqualTo(6);
+        assertThat(cache.getSequence(NODE)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Изменение, влияющее на поиск -> кэш поиска очищается")
+    void applyInvalidations_whenSearchChanged_thenEvictSearch() {
+        cache.search("дрель", 0, 10, server(HttpStatus.OK)).block();
+
+        cache.applyInvalidations(NODE, changes(1, true, List.of(5L)));
+        cache.search("дрель", 0, 10, server(HttpStatus.OK)).block();
+
+        assertThat(serverCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Смена эпохи сервера -> кэш очищается полностью")
+    void applyInvalidations_whenEpochChanged_thenEvictAll() {
+        cache.getItem(1L, 7L, server(HttpStatus.OK)).block();
+
+        cache.applyInvalidations(NODE, new ItemInvalidations("epoch-2", 0, true, true, List.of()));
+        cache.getItem(1L, 7L, server(HttpStatus.OK)).block();
+
+        assertThat(serverCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Инвалидации давно не получены -> кэш не используется")
+    void getItem_whenStalenessExceeded_thenBypassCache() {
+        cache.getItem(1L, 7L, server(HttpStatus.OK)).block();
+
+        clock.advance(Duration.ofSeconds(3));
+        cache.getItem(1L, 7L, server(HttpStatus.OK)).block();
+
+        assertThat(serverCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Один из узлов сервера не прислал инвалидации -> кэш не используется")
+    void getItem_whenNodeNotSynced_thenBypassCache() {
+        ItemResponseCache twoNodeCache = new ItemResponseCache(
+                new ItemCacheProperties(), List.of(NODE, "http://localhost:9091"), clock);
+        twoNodeCache.applyInvalidations(NODE, changes(0, false, List.of()));
+
+        twoNodeCache.getItem(1L, 7L, server(HttpStatus.OK)).block();
+        twoNodeCache.getItem(1L, 7L, server(HttpStatus.OK)).block();
+
+        assertThat(serverCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Инвалидация во время запроса -> устаревший ответ не кэшируется")
+    void getItem_whenInvalidatedDuringLoad_thenDoNotCacheResponse() {
+        Sinks.One<ResponseEntity<Object>> pending = Sinks.one();
+        Mono<ResponseEntity<Object>> inFlight = cache.getItem(1L, 7L, pending::asMono).cache();
+        inFlight.subscribe();
+
+        cache.invalidateItem(1L, false);
+        pending.tryEmitValue(ResponseEntity.ok("старое"));
+        inFlight.block();
+        cache.getItem(1L, 7L, server(HttpStatus.OK)).block();
+
+        assertThat(serverCalls.get()).isEqualTo(1);
+    }
+
+    private Supplier<Mono<ResponseEntity<Object>>> server(HttpStatus status) {
+        return () -> Mono.fromSupplier(() -> {
+            serverCalls.incrementAndGet();
+            return ResponseEntity.status(status).body("ответ");
+        });
+    }
+
+    private static ItemInvalidations changes(long sequence, boolean searchChanged, List<Long> itemIds) {
+        return new ItemInvalidations(EPOCH, sequence, false, searchChanged, itemIds);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
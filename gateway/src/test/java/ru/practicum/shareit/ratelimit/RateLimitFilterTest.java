@@ -0,0 +1,92 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+    private final RateLimitFilter filter = new RateLimitFilter(limiterWithCapacity(1), new ObjectMapper());
+
+    @Test
+    @DisplayName("Запрос в пределах лимита -> передается дальше")
+    void doFilter_whenWithinLimit_thenPassThrough() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("1"), response, chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Лимит исчерпан -> 429 с Retry-After")
+    void doFilter_whenLimitExceeded_thenTooManyRequests() throws Exception {
+        filter.doFilter(request("1"), new MockHttpServletResponse(), new MockFilterChain());
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("1"), response, chain);
+
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(response.getContentAsString()).contains("Слишком много запросов");
+    }
+
+    @Test
+    @DisplayName("Подзапрос пакета с ключом клиента -> расходует лимит исходного клиента")
+    void doFilter_whenForwardedFromBatch_thenChargeOriginalClient() throws Exception {
+        filter.doFilter(anonymous("203.0.113.7"), new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletRequest subRequest = anonymous("127.0.0.1");
+        HttpHeaders forwarded = new HttpHeaders();
+        RateLimitKeys.forward(forwarded, "ip:203.0.113.7");
+        forwarded.forEach((name, values) -> subRequest.addHeader(name, values.getFirst()));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(subRequest, response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(subRequest.getAttribute(RateLimitKeys.ATTRIBUTE)).isEqualTo("ip:203.0.113.7");
+    }
+
+    @Test
+    @DisplayName("Ключ клиента без верного секрета -> игнорируется")
+    void doFilter_whenForwardedKeyForged_thenUseRemoteAddress() throws Exception {
+        filter.doFilter(anonymous("203.0.113.7"), new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletRequest forged = anonymous("198.51.100.1");
+        forged.addHeader(RateLimitKeys.FORWARDED_KEY, "ip:203.0.113.7");
+        forged.addHeader(RateLimitKeys.FORWARDED_TOKEN, "guess");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(forged, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(forged.getAttribute(RateLimitKeys.ATTRIBUTE)).isEqualTo("ip:198.51.100.1");
+    }
+
+    private static MockHttpServletRequest anonymous(String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items");
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+
+    private static MockHttpServletRequest request(String userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items");
+        request.addHeader("X-Sharer-User-Id", userId);
+        return request;
+    }
+
+    static RateLimiter limiterWithCapacity(long capacity) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setCapacity(capacity);
+        properties.setRefillPerSecond(1);
+        return new RateLimiter(properties, () -> 0L);
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitWebFilterTest {
+    private final RateLimitWebFilter filter =
+            new RateLimitWebFilter(RateLimitFilterTest.limiterWithCapacity(1), new ObjectMapper());
+    private final AtomicInteger passed = new AtomicInteger();
+
+    @Test
+    @DisplayName("Лимит исчерпан -> 429 с Retry-After, запрос дальше не передается")
+    void filter_whenLimitExceeded_thenTooManyRequests() {
+        filter.filter(exchange("1"), e -> countPassed()).block();
+        MockServerWebExchange rejected = exchange("1");
+
+        filter.filter(rejected, e -> countPassed()).block();
+
+        assertThat(passed.get()).isEqualTo(1);
+        assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(rejected.getResponse().getBodyAsString().block()).contains("Слишком много запросов");
+    }
+
+    @Test
+    @DisplayName("Разные пользователи -> лимиты не влияют друг на друга")
+    void filter_whenDifferentUsers_thenPassBoth() {
+        filter.filter(exchange("1"), e -> countPassed()).block();
+        filter.filter(exchange("2"), e -> countPassed()).block();
+
+        assertThat(passed.get()).isEqualTo(2);
+    }
+
+    private Mono<Void> countPassed() {
+        passed.incrementAndGet();
+        return Mono.empty();
+    }
+
+    private static MockServerWebExchange exchange(String userId) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/items").header("X-Sharer-User-Id", userId));
+    }
+}
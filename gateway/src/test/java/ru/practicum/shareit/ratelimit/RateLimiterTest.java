@@ -0,0 +1,81 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+    private final AtomicLong now = new AtomicLong(-TimeUnit.SECONDS.toNanos(100));
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.RouteCost ownerBookings = new RateLimitProperties.RouteCost();
+        ownerBookings.setMethod("GET");
+        ownerBookings.setPath("/bookings/owner");
+        ownerBookings.setCost(5);
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setCapacity(10);
+        properties.setRefillPerSecond(10);
+        properties.setRoutes(List.of(ownerBookings));
+        rateLimiter = new RateLimiter(properties, now::get);
+    }
+
+    @Test
+    @DisplayName("Запросы в пределах емкости -> пропускаются, сверх емкости -> отклоняются")
+    void tryAcquire_whenBurstExceeded_thenReject() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(rateLimiter.tryAcquire("1", "GET", "/items")).isZero();
+        }
+
+        long wait = rateLimiter.tryAcquire("1", "GET", "/items");
+
+        assertThat(wait).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    @DisplayName("Прошло время пополнения -> запрос снова пропускается")
+    void tryAcquire_whenRefilled_thenAllow() {
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.tryAcquire("1", "GET", "/items");
+        }
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertThat(rateLimiter.tryAcquire("1", "GET", "/items")).isZero();
+        assertThat(rateLimiter.tryAcquire("1", "GET", "/items")).isPositive();
+    }
+
+    @Test
+    @DisplayName("Дорогой маршрут -> расходует токены согласно весу")
+    void tryAcquire_whenWeightedRoute_thenConsumeCost() {
+        assertThat(rateLimiter.tryAcquire("1", "GET", "/bookings/owner")).isZero();
+        assertThat(rateLimiter.tryAcquire("1", "GET", "/bookings/owner")).isZero();
+
+        assertThat(rateLimiter.tryAcquire("1", "GET", "/bookings/owner"))
+                .isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(rateLimiter.tryAcquire("1", "POST", "/bookings/owner")).isPositive();
+    }
+
+    @Test
+    @DisplayName("Разные пользователи -> независимые лимиты, отказы попадают в метрики")
+    void tryAcquire_whenDifferentUsers_thenSeparateBuckets() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        rateLimiter.bindTo(registry);
+        for (int i = 0; i < 11; i++) {
+            rateLimiter.tryAcquire("1", "GET", "/items");
+        }
+
+        assertThat(rateLimiter.tryAcquire("2", "GET", "/items")).isZero();
+        assertThat(registry.get("shareit.gateway.rate-limit.rejected").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("shareit.gateway.rate-limit.buckets").gauge().value()).isEqualTo(2);
+    }
+}
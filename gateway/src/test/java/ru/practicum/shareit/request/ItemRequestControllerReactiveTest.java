@@ -0,0 +1,7 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+
+@WebFluxTest
+class ItemRequestControllerReactiveTest extends ItemRequestControllerTest {
+}
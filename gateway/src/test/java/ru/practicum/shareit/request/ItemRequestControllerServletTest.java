@@ -0,0 +1,7 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+
+@WebMvcTest
+class ItemRequestControllerServletTest extends ItemRequestControllerTest {
+}
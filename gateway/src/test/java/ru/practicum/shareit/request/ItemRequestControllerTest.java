@@ -5,7 +5,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,17 +12,17 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
-import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest
 @Import(ItemRequestController.class)
-class ItemRequestControllerTest {
+@ContextConfiguration(classes = ItemRequestControllerTest.TestConfig.class)
+abstract class ItemRequestControllerTest {
 
     @Configuration
     static class TestConfig {
@@ -34,7 +33,7 @@ class ItemRequestControllerTest {
     }
 
     @Autowired
-    private MockMvc mockMvc;
+    private WebTestClient webTestClient;
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -55,13 +54,15 @@ class ItemRequestControllerTest {
     @DisplayName("Создание запроса на предмет с валидными данными -> возвращает 200 OK")
     void create_whenValidItemRequest_thenReturnOk() throws Exception {
         when(itemRequestClient.create(any(ItemRequestDto.class), anyLong()))
-                .thenReturn(new ResponseEntity<>("{}", HttpStatus.OK));
-
-        mockMvc.perform(post("/requests")
-                        .header(SHARER_USER_ID, 1L)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(itemRequestDto)))
-                .andExpect(status().isOk());
+                .thenReturn(Mono.just(new ResponseEntity<>("{}", HttpStatus.OK)));
+
+        webTestClient.post()
+                .uri("/requests")
+                .header(SHARER_USER_ID, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(objectMapper.writeValueAsString(itemRequestDto))
+                .exchange()
+                .expectStatus().isOk();
     }
 
     @Test
@@ -70,110 +71,135 @@ class ItemRequestControllerTest {
         ItemRequestDto invalidRequest = new ItemRequestDto();
         invalidRequest.setDescription("");
 
-        mockMvc.perform(post("/requests")
-                        .header(SHARER_USER_ID, 1L)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(invalidRequest)))
-                .andExpect(status().isBadRequest());
+        webTestClient.post()
+                .uri("/requests")
+                .header(SHARER_USER_ID, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(objectMapper.writeValueAsString(invalidRequest))
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
     @DisplayName("Создание запроса на предмет без заголовка X-Sharer-User-Id -> возвращает 400 Bad Request")
     void create_whenMissingUserIdHeader_thenReturnBadRequest() throws Exception {
-        mockMvc.perform(post("/requests")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(itemRequestDto)))
-                .andExpect(status().isBadRequest());
+        webTestClient.post()
+                .uri("/requests")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(objectMapper.writeValueAsString(itemRequestDto))
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
     @DisplayName("Получение собственных запросов на предметы -> возвращает 200 OK")
     void getOwn_whenValidRequest_thenReturnOk() throws Exception {
         when(itemRequestClient.getByRequestor(anyLong()))
-                .thenReturn(new ResponseEntity<>("[]", HttpStatus.OK));
+                .thenReturn(Mono.just(new ResponseEntity<>("[]", HttpStatus.OK)));
 
-        mockMvc.perform(get("/requests")
-                        .header(SHARER_USER_ID, 1L))
-                .andExpect(status().isOk());
+        webTestClient.get()
+                .uri("/requests")
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isOk();
     }
 
     @Test
     @DisplayName("Получение собственных запросов без заголовка X-Sharer-User-Id -> возвращает 400 Bad Request")
     void getOwn_whenMissingUserIdHeader_thenReturnBadRequest() throws Exception {
-        mockMvc.perform(get("/requests"))
-                .andExpect(status().isBadRequest());
+        webTestClient.get()
+                .uri("/requests")
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
     @DisplayName("Получение всех запросов на предметы -> возвращает 200 OK")
     void getAll_whenValidRequest_thenReturnOk() throws Exception {
         when(itemRequestClient.getAll(anyLong(), anyInt(), anyInt()))
-                .thenReturn(new ResponseEntity<>("[]", HttpStatus.OK));
-
-        mockMvc.perform(get("/requests/all")
-                        .header(SHARER_USER_ID, 1L)
-                        .param("from", "0")
-                        .param("size", "10"))
-                .andExpect(status().isOk());
+                .thenReturn(Mono.just(new ResponseEntity<>("[]", HttpStatus.OK)));
+
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/requests/all")
+                        .queryParam("from", "0")
+                        .queryParam("size", "10")
+                        .build())
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isOk();
     }
 
     @Test
     @DisplayName("Получение всех запросов с отрицательным параметром 'from' -> возвращает 400 Bad Request")
     void getAll_whenInvalidFromParameter_thenReturnBadRequest() throws Exception {
-        mockMvc.perform(get("/requests/all")
-                        .header(SHARER_USER_ID, 1L)
-                        .param("from", "-1")
-                        .param("size", "10"))
-                .andExpect(status().isBadRequest());
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/requests/all")
+                        .queryParam("from", "-1")
+                        .queryParam("size", "10")
+                        .build())
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
     @DisplayName("Получение всех запросов с параметром 'size' меньше 1 -> возвращает 400 Bad Request")
     void getAll_whenInvalidSizeParameter_thenReturnBadRequest() throws Exception {
-        mockMvc.perform(get("/requests/all")
-                        .header(SHARER_USER_ID, 1L)
-                        .param("from", "0")
-                        .param("size", "0"))
-                .andExpect(status().isBadRequest());
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/requests/all")
+                        .queryParam("from", "0")
+                        .queryParam("size", "0")
+                        .build())
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
     @DisplayName("Получение всех запросов без параметров пагинации -> возвращает 200 OK")
     void getAll_whenMissingPaginationParameters_thenReturnOk() throws Exception {
         when(itemRequestClient.getAll(anyLong(), anyInt(), anyInt()))
-                .thenReturn(new ResponseEntity<>("[]", HttpStatus.OK));
+                .thenReturn(Mono.just(new ResponseEntity<>("[]", HttpStatus.OK)));
 
-        mockMvc.perform(get("/requests/all")
-                        .header(SHARER_USER_ID, 1L))
-                .andExpect(status().isOk());
+        webTestClient.get()
+                .uri("/requests/all")
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isOk();
     }
 
     @Test
     @DisplayName("Получение запроса на предмет по ID -> возвращает 200 OK")
     void getById_whenValidRequest_thenReturnOk() throws Exception {
         when(itemRequestClient.getById(anyLong(), anyLong()))
-                .thenReturn(new ResponseEntity<>("{}", HttpStatus.OK));
+                .thenReturn(Mono.just(new ResponseEntity<>("{}", HttpStatus.OK)));
 
-        mockMvc.perform(get("/requests/1")
-                        .header(SHARER_USER_ID, 1L))
-                .andExpect(status().isOk());
+        webTestClient.get()
+                .uri("/requests/1")
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isOk();
     }
 
     @Test
     @DisplayName("Получение запроса на предмет по ID без заголовка X-Sharer-User-Id -> возвращает 400 Bad Request")
     void getById_whenMissingUserIdHeader_thenReturnBadRequest() throws Exception {
-        mockMvc.perform(get("/requests/1"))
-                .andExpect(status().isBadRequest());
+        webTestClient.get()
+                .uri("/requests/1")
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
     @DisplayName("Получение несуществующего запроса на предмет по ID -> возвращает 404 Not Found")
     void getById_whenItemRequestNotFound_thenReturnNotFound() throws Exception {
         when(itemRequestClient.getById(anyLong(), anyLong()))
-                .thenReturn(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+                .thenReturn(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
 
-        mockMvc.perform(get("/requests/999")
-                        .header(SHARER_USER_ID, 1L))
-                .andExpect(status().isNotFound());
+        webTestClient.get()
+                .uri("/requests/999")
+                .header(SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isNotFound();
     }
 }
\ No newline at end of file
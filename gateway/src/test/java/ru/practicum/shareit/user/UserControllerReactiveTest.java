@@ -0,0 +1,7 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+
+@WebFluxTest
+class UserControllerReactiveTest extends UserControllerTest {
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+
+@WebMvcTest
+class UserControllerServletTest extends UserControllerTest {
+}
@@ -5,7 +5,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,19 +12,19 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.CreateUserRequestDto;
 import ru.practicum.shareit.user.dto.UpdateUserRequestDto;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.when;
-import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest
 @Import(UserController.class)
-class UserControllerTest {
+@ContextConfiguration(classes = UserControllerTest.TestConfig.class)
+abstract class UserControllerTest {
 
     @Configuration
     static class TestConfig {
@@ -36,7 +35,7 @@ class UserControllerTest {
     }
 
     @Autowired
-    private MockMvc mockMvc;
+    private WebTestClient webTestClient;
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -62,12 +61,14 @@ class UserControllerTest {
     @DisplayName("Создание пользователя с валидными данными -> возвращает 200 OK")
     void create_whenValidUser_thenReturnOk() throws Exception {
         when(userClient.create(any(CreateUserRequestDto.class)))
-                .thenReturn(new ResponseEntity<>("{}", HttpStatus.OK));
-
-        mockMvc.perform(post("/users")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(createUserDto)))
-                .andExpect(status().isOk());
+                .thenReturn(Mono.just(new ResponseEntity<>("{}", HttpStatus.OK)));
+
+        webTestClient.post()
+                .uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(objectMapper.writeValueAsString(createUserDto))
+                .exchange()
+                .expectStatus().isOk();
     }
 
     @Test
@@ -77,22 +78,26 @@ class UserControllerTest {
         invalidUser.setName("");
         invalidUser.setEmail("invalid-email");
 
-        mockMvc.perform(post("/users")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(invalidUser)))
-                .andExpect(status().isBadRequest());
+        webTestClient.post()
+                .uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(objectMapper.writeValueAsString(invalidUser))
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
     @DisplayName("Обновление пользователя с валидными данными -> возвращает 200 OK")
     void update_whenValidRequest_thenReturnOk() throws Exception {
         when(userClient.update(anyLong(), any(UpdateUserRequestDto.class)))
-                .thenReturn(new ResponseEntity<>("{}", HttpStatus.OK));
-
-        mockMvc.perform(patch("/users/1")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(updateUserDto)))
-                .andExpect(status().isOk());
+                .thenReturn(Mono.just(new ResponseEntity<>("{}", HttpStatus.OK)));
+
+        webTestClient.patch()
+                .uri("/users/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(objectMapper.writeValueAsString(updateUserDto))
+                .exchange()
+                .expectStatus().isOk();
     }
 
     @Test
@@ -102,61 +107,73 @@ class UserControllerTest {
         invalidUser.setName("");
         invalidUser.setEmail("invalid-email");
 
-        mockMvc.perform(patch("/users/1")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(invalidUser)))
-                .andExpect(status().isBadRequest());
+        webTestClient.patch()
+                .uri("/users/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(objectMapper.writeValueAsString(invalidUser))
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
     @DisplayName("Обновление несуществующего пользователя -> возвращает 404 Not Found")
     void update_whenUserNotFound_thenReturnNotFound() throws Exception {
         when(userClient.update(anyLong(), any(UpdateUserRequestDto.class)))
-                .thenReturn(new ResponseEntity<>(HttpStatus.NOT_FOUND));
-
-        mockMvc.perform(patch("/users/999")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(updateUserDto)))
-                .andExpect(status().isNotFound());
+                .thenReturn(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
+
+        webTestClient.patch()
+                .uri("/users/999")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(objectMapper.writeValueAsString(updateUserDto))
+                .exchange()
+                .expectStatus().isNotFound();
     }
 
     @Test
     @DisplayName("Получение пользователя по ID -> возвращает 200 OK")
     void getById_whenValidRequest_thenReturnOk() throws Exception {
         when(userClient.getById(anyLong()))
-                .thenReturn(new ResponseEntity<>("{}", HttpStatus.OK));
+                .thenReturn(Mono.just(new ResponseEntity<>("{}", HttpStatus.OK)));
 
-        mockMvc.perform(get("/users/1"))
-                .andExpect(status().isOk());
+        webTestClient.get()
+                .uri("/users/1")
+                .exchange()
+                .expectStatus().isOk();
     }
 
     @Test
     @DisplayName("Получение несуществующего пользователя по ID -> возвращает 404 Not Found")
     void getById_whenUserNotFound_thenReturnNotFound() throws Exception {
         when(userClient.getById(anyLong()))
-                .thenReturn(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+                .thenReturn(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
 
-        mockMvc.perform(get("/users/999"))
-                .andExpect(status().isNotFound());
+        webTestClient.get()
+                .uri("/users/999")
+                .exchange()
+                .expectStatus().isNotFound();
     }
 
     @Test
     @DisplayName("Получение всех пользователей -> возвращает 200 OK")
     void getAll_whenValidRequest_thenReturnOk() throws Exception {
         when(userClient.getAll())
-                .thenReturn(new ResponseEntity<>("[]", HttpStatus.OK));
+                .thenReturn(Mono.just(new ResponseEntity<>("[]", HttpStatus.OK)));
 
-        mockMvc.perform(get("/users"))
-                .andExpect(status().isOk());
+        webTestClient.get()
+                .uri("/users")
+                .exchange()
+                .expectStatus().isOk();
     }
 
     @Test
     @DisplayName("Удаление пользователя -> возвращает 200 OK")
     void delete_whenValidRequest_thenReturnOk() throws Exception {
         when(userClient.delete(anyLong()))
-                .thenReturn(new ResponseEntity<>(HttpStatus.OK));
+                .thenReturn(Mono.just(new ResponseEntity<>(HttpStatus.OK)));
 
-        mockMvc.perform(delete("/users/1"))
-                .andExpect(status().isOk());
+        webTestClient.delete()
+                .uri("/users/1")
+                .exchange()
+                .expectStatus().isOk();
     }
 }
\ No newline at end of file
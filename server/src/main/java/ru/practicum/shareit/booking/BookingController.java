@@ -1,10 +1,16 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.lock.BookingItemLocks;
+import ru.practicum.shareit.booking.pipeline.BookingWritePipeline;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.utils.BookingCursor;
+import ru.practicum.shareit.idempotency.IdempotencyStore;
 
 import java.util.List;
 
@@ -14,14 +20,29 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final IdempotencyStore idempotencyStore;
+    private final BookingItemLocks bookingItemLocks;
+    private final ObjectProvider<BookingWritePipeline> bookingWritePipeline;
     private static final String SHARER_USER_ID = "X-Sharer-User-Id";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String NEXT_CURSOR = "X-Next-Cursor";
 
     @PostMapping
     public BookingResponseDto createBooking(
             @RequestBody BookingRequestDto bookingRequestDto,
-            @RequestHeader(SHARER_USER_ID) Long userId
+            @RequestHeader(SHARER_USER_ID) Long userId,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey
     ) {
-        return bookingService.createBooking(bookingRequestDto, userId);
+        return idempotencyStore.execute("POST /bookings", userId, idempotencyKey, bookingRequestDto,
+                () -> {
+                    bookingService.rejectKnownOverlap(bookingRequestDto, userId);
+                    BookingWritePipeline pipeline = bookingWritePipeline.getIfAvailable();
+                    if (pipeline != null) {
+                        return pipeline.createBooking(bookingRequestDto, userId);
+                    }
+                    return bookingItemLocks.execute(bookingRequestDto.getItemId(),
+                            () -> bookingService.createBooking(bookingRequestDto, userId));
+                });
     }
 
     @PatchMapping("/{bookingId}")
@@ -30,7 +51,8 @@ public class BookingController {
             @RequestParam Boolean approved,
             @RequestHeader(SHARER_USER_ID) Long userId
     ) {
-        return bookingService.updateBooking(bookingId, userId, approved);
+        return bookingItemLocks.execute(bookingService.getBookingItemId(bookingId),
+                () -> bookingService.updateBooking(bookingId, userId, approved));
     }
 
     @GetMapping("/{bookingId}")
@@ -42,18 +64,36 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingResponseDto> getBookingByBookerId(
+    public ResponseEntity<List<BookingResponseDto>> getBookingByBookerId(
             @RequestHeader(SHARER_USER_ID) Long userId,
-            @RequestParam(defaultValue = "ALL") String state
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor
     ) {
-        return bookingService.getBookingByBookerId(userId, state);
+        List<BookingResponseDto> bookings = bookingService.getBookingByBookerId(userId, state, from, size, cursor);
+        return withNextCursor(bookings, size);
     }
 
     @GetMapping("/owner")
-    public List<BookingResponseDto> getBookingByOwnerId(
+    public ResponseEntity<List<BookingResponseDto>> getBookingByOwnerId(
             @RequestHeader(SHARER_USER_ID) Long userId,
-            @RequestParam(defaultValue = "ALL") String state
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor
     ) {
-        return bookingService.getBookingByOwnerId(userId, state);
+        List<BookingResponseDto> bookings = bookingService.getBookingByOwnerId(userId, state, from, size, cursor);
+        return withNextCursor(bookings, size);
+    }
+
+    private ResponseEntity<List<BookingResponseDto>> withNextCursor(List<BookingResponseDto> bookings, Integer size) {
+        if (bookings.isEmpty() || bookings.size() < size) {
+            return ResponseEntity.ok(bookings);
+        }
+        BookingResponseDto last = bookings.getLast();
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR, BookingCursor.encode(last.getStart(), last.getId()))
+                .body(bookings);
     }
 }
\ No newline at end of file
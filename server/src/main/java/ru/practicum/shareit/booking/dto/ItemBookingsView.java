@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.dto;
+
+public interface ItemBookingsView {
+
+    Long getItemId();
+
+    Long getLastBookingId();
+
+    Long getLastBookerId();
+
+    Long getNextBookingId();
+
+    Long getNextBookerId();
+}
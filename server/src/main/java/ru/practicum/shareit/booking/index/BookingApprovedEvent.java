@@ -0,0 +1,10 @@
+package ru.practicum.shareit.booking.index;
+
+import java.time.LocalDateTime;
+
+public record BookingApprovedEvent(
+        Long itemId,
+        LocalDateTime start,
+        LocalDateTime end
+) {
+}
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.booking.index;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.dto.BookingPeriodView;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+@Component
+public class BookingIntervalIndex {
+    private static final Sort EARLIEST_FIRST = Sort.by(Sort.Direction.ASC, "start", "id");
+
+    private final BookingRepository bookingRepository;
+    private final int maxIntervalsPerItem;
+    private final Cache<Long, Intervals> intervals;
+
+    public BookingIntervalIndex(
+            BookingRepository bookingRepository,
+            @Value("${shareit.booking-index.max-intervals:200000}") long maxIntervals,
+            @Value("${shareit.booking-index.max-intervals-per-item:1024}") int maxIntervalsPerItem,
+            @Value("${shareit.booking-index.expire-after-access:10m}") Duration expireAfterAccess
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.maxIntervalsPerItem = maxIntervalsPerItem;
+        this.intervals = Caffeine.newBuilder()
+                .maximumWeight(maxIntervals)
+                .weigher((Long itemId, Intervals value) -> value.size() + 1)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+    }
+
+    public boolean hasApprovedOverlap(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return intervals.get(itemId, this::load).overlaps(toKey(start), toKey(end));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingApproved(BookingApprovedEvent event) {
+        intervals.asMap().computeIfPresent(event.itemId(),
+                (itemId, current) -> current.with(toKey(event.start()), toKey(event.end()), maxIntervalsPerItem));
+    }
+
+    private Intervals load(Long itemId) {
+        List<BookingPeriodView> periods = bookingRepository.findByItemIdAndStatusAndEndAfter(
+                itemId, BookingStatus.APPROVED, LocalDateTime.now(), EARLIEST_FIRST, Limit.of(maxIntervalsPerItem));
+        long[] starts = new long[periods.size()];
+        long[] ends = new long[periods.size()];
+        for (int i = 0; i < periods.size(); i++) {
+            starts[i] = toKey(periods.get(i).getStart());
+            ends[i] = toKey(periods.get(i).getEnd());
+        }
+        return new Intervals(starts, ends);
+    }
+
+    private static long toKey(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + time.getNano();
+    }
+
+    private static final class Intervals {
+        private final long[] starts;
+        private final long[] ends;
+        private final long[] maxEnds;
+
+        private Intervals(long[] starts, long[] ends) {
+            this.starts = starts;
+            this.ends = ends;
+            this.maxEnds = new long[ends.length];
+            long maxEnd = Long.MIN_VALUE;
+            for (int i = 0; i < ends.length; i++) {
+                maxEnd = Math.max(maxEnd, ends[i]);
+                maxEnds[i] = maxEnd;
+            }
+        }
+
+        int size() {
+            return starts.length;
+        }
+
+        boolean overlaps(long start, long end) {
+            int startingBefore = insertionPoint(starts, end);
+            return startingBefore > 0 && maxEnds[startingBefore - 1] > start;
+        }
+
+        Intervals with(long start, long end, int capacity) {
+            int position = insertionPoint(starts, start);
+            if (starts.length >= capacity && position >= capacity) {
+                return this;
+            }
+            int size = Math.min(starts.length + 1, capacity);
+            long[] newStarts = new long[size];
+            long[] newEnds = new long[size];
+            System.arraycopy(starts, 0, newStarts, 0, position);
+            System.arraycopy(ends, 0, newEnds, 0, position);
+            newStarts[position] = start;
+            newEnds[position] = end;
+            System.arraycopy(starts, position, newStarts, position + 1, size - position - 1);
+            System.arraycopy(ends, position, newEnds, position + 1, size - position - 1);
+            return new Intervals(newStarts, newEnds);
+        }
+
+        private static int insertionPoint(long[] sorted, long value) {
+            int index = Arrays.binarySearch(sorted, value);
+            if (index < 0) {
+                return -index - 1;
+            }
+            while (index > 0 && sorted[index - 1] == value) {
+                index--;
+            }
+            return index;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.booking.lock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+@Component
+public class BookingItemLocks {
+    private final ReentrantLock[] stripes;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean advisory;
+
+    public BookingItemLocks(
+            JdbcTemplate jdbcTemplate,
+            @Value("${shareit.booking-lock.stripes:256}") int stripes,
+            @Value("${shareit.booking-lock.advisory:false}") boolean advisory
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.advisory = advisory;
+        this.stripes = new ReentrantLock[Integer.highestOneBit(Math.max(stripes - 1, 1)) << 1];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T execute(Long itemId, Supplier<T> action) {
+        ReentrantLock lock = stripeFor(itemId);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void lockInTransaction(Long itemId) {
+        if (!advisory) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Блокировка предмета " + itemId + " требует активной транзакции");
+        }
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?)", itemId);
+    }
+
+    private ReentrantLock stripeFor(Long itemId) {
+        int hash = Objects.hashCode(itemId);
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+}
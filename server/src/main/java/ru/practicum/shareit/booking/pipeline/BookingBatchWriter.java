@@ -0,0 +1,61 @@
+package ru.practicum.shareit.booking.pipeline;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.lock.BookingItemLocks;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class BookingBatchWriter {
+    private static final String INSERT_BOOKING =
+            "INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BookingItemLocks bookingItemLocks;
+
+    @Transactional
+    public List<Booking> insert(List<Booking> bookings) {
+        bookings.stream()
+                .map(booking -> booking.getItem().getId())
+                .distinct()
+                .sorted()
+                .forEach(bookingItemLocks::lockInTransaction);
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_BOOKING, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        Booking booking = bookings.get(i);
+                        statement.setTimestamp(1, Timestamp.valueOf(booking.getStart()));
+                        statement.setTimestamp(2, Timestamp.valueOf(booking.getEnd()));
+                        statement.setLong(3, booking.getItem().getId());
+                        statement.setLong(4, booking.getBooker().getId());
+                        statement.setString(5, booking.getStatus().name());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return bookings.size();
+                    }
+                }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < bookings.size(); i++) {
+            bookings.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+        }
+        return bookings;
+    }
+}
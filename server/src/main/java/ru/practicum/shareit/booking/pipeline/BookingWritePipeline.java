@@ -0,0 +1,178 @@
+package ru.practicum.shareit.booking.pipeline;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Component
+@ConditionalOnProperty(name = "shareit.booking-pipeline.enabled", havingValue = "true")
+@Slf4j
+public class BookingWritePipeline {
+    private static final String ITEM_ALREADY_BOOKED = "Товар уже забронирован на указанный период";
+    private static final String PIPELINE_STOPPED = "Конвейер записи бронирований остановлен";
+    private static final String WRITE_TIMED_OUT = "Запись бронирования не завершилась вовремя";
+
+    private final BookingService bookingService;
+    private final BookingBatchWriter bookingBatchWriter;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final BookingMapper bookingMapper;
+    private final int maxBatchSize;
+    private final long flushIntervalNanos;
+    private final long writeTimeoutNanos;
+    private final List<BlockingQueue<PendingBooking>> queues = new ArrayList<>();
+    private final List<Thread> writers = new ArrayList<>();
+    private volatile boolean stopped;
+
+    public BookingWritePipeline(
+            BookingService bookingService,
+            BookingBatchWriter bookingBatchWriter,
+            BookingIntervalIndex bookingIntervalIndex,
+            BookingMapper bookingMapper,
+            @Value("${shareit.booking-pipeline.shards:4}") int shards,
+            @Value("${shareit.booking-pipeline.max-batch-size:256}") int maxBatchSize,
+            @Value("${shareit.booking-pipeline.flush-interval:5ms}") Duration flushInterval,
+            @Value("${shareit.booking-pipeline.write-timeout:10s}") Duration writeTimeout
+    ) {
+        this.bookingService = bookingService;
+        this.bookingBatchWriter = bookingBatchWriter;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.bookingMapper = bookingMapper;
+        this.maxBatchSize = maxBatchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.writeTimeoutNanos = writeTimeout.toNanos();
+        for (int i = 0; i < shards; i++) {
+            BlockingQueue<PendingBooking> queue = new LinkedBlockingQueue<>();
+            queues.add(queue);
+            writers.add(Thread.ofPlatform().name("booking-writer-" + i).daemon().start(() -> write(queue)));
+        }
+    }
+
+    public BookingResponseDto createBooking(BookingRequestDto bookingRequestDto, Long bookerId) {
+        Booking booking = bookingService.prepareBooking(bookingRequestDto, bookerId);
+        PendingBooking pending = new PendingBooking(booking, new CompletableFuture<>());
+        enqueue(queues.get(Math.floorMod(Long.hashCode(booking.getItem().getId()), queues.size())), pending);
+        try {
+            return bookingMapper.toBookingResponseDto(
+                    pending.result().orTimeout(writeTimeoutNanos, TimeUnit.NANOSECONDS).join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof TimeoutException) {
+                throw new IllegalStateException(WRITE_TIMED_OUT, e.getCause());
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        stopped = true;
+        writers.forEach(Thread::interrupt);
+        long deadline = System.nanoTime() + writeTimeoutNanos;
+        for (Thread writer : writers) {
+            if (!writer.join(Duration.ofNanos(Math.max(deadline - System.nanoTime(), 1)))) {
+                log.warn("Поток {} не завершился за {} мс", writer.getName(),
+                        TimeUnit.NANOSECONDS.toMillis(writeTimeoutNanos));
+            }
+        }
+        for (BlockingQueue<PendingBooking> queue : queues) {
+            List<PendingBooking> rest = new ArrayList<>();
+            queue.drainTo(rest);
+            rest.forEach(pending -> pending.result()
+                    .completeExceptionally(new IllegalStateException(PIPELINE_STOPPED)));
+        }
+    }
+
+    private void enqueue(BlockingQueue<PendingBooking> queue, PendingBooking pending) {
+        if (stopped) {
+            throw new IllegalStateException(PIPELINE_STOPPED);
+        }
+        queue.add(pending);
+        if (stopped && queue.remove(pending)) {
+            throw new IllegalStateException(PIPELINE_STOPPED);
+        }
+    }
+
+    private void write(BlockingQueue<PendingBooking> queue) {
+        List<PendingBooking> batch = new ArrayList<>(maxBatchSize);
+        while (!stopped && !Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < maxBatchSize) {
+                    PendingBooking next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            try {
+                flush(batch);
+            } catch (Throwable e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                log.error("Запись пакета из {} бронирований прервана", batch.size(), e);
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            }
+            batch.clear();
+        }
+    }
+
+    private void flush(List<PendingBooking> batch) {
+        List<PendingBooking> accepted = new ArrayList<>(batch.size());
+        for (PendingBooking pending : batch) {
+            Booking booking = pending.booking();
+            try {
+                if (bookingIntervalIndex.hasApprovedOverlap(
+                        booking.getItem().getId(), booking.getStart(), booking.getEnd())) {
+                    pending.result().completeExceptionally(new IllegalArgumentException(ITEM_ALREADY_BOOKED));
+                } else {
+                    accepted.add(pending);
+                }
+            } catch (RuntimeException e) {
+                pending.result().completeExceptionally(e);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        try {
+            bookingBatchWriter.insert(accepted.stream().map(PendingBooking::booking).toList());
+            accepted.forEach(pending -> pending.result().complete(pending.booking()));
+        } catch (RuntimeException e) {
+            if (accepted.size() == 1) {
+                accepted.getFirst().result().completeExceptionally(e);
+                return;
+            }
+            log.warn("Пакетная запись {} бронирований не удалась, записываем по одному", accepted.size(), e);
+            accepted.forEach(pending -> flush(List.of(pending)));
+        }
+    }
+
+    private record PendingBooking(Booking booking, CompletableFuture<Booking> result) {
+    }
+}
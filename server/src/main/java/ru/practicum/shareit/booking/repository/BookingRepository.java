@@ -1,54 +1,83 @@
 package ru.practicum.shareit.booking.repository;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.BookingPeriodView;
+import ru.practicum.shareit.booking.dto.ItemBookingsView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    List<Booking> findByBookerId(Long bookerId, Sort sort);
+    @Override
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findById(Long id);
 
-    List<Booking> findByBookerIdAndStatus(Long bookerId, BookingStatus status, Sort sort);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByBookerId(Long bookerId, ScrollPosition position, Limit limit, Sort sort);
 
-    List<Booking> findByBookerIdAndEndBefore(Long bookerId, LocalDateTime end, Sort sort);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByBookerIdAndStatus(Long bookerId, BookingStatus status,
+                                            ScrollPosition position, Limit limit, Sort sort);
 
-    List<Booking> findByBookerIdAndStartAfter(Long bookerId, LocalDateTime start, Sort sort);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByBookerIdAndEndBefore(Long bookerId, LocalDateTime end,
+                                               ScrollPosition position, Limit limit, Sort sort);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByBookerIdAndStartAfter(Long bookerId, LocalDateTime start,
+                                                ScrollPosition position, Limit limit, Sort sort);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByBookerIdAndStartLessThanEqualAndEndGreaterThanEqual(Long bookerId,
+                                                                              LocalDateTime start,
+                                                                              LocalDateTime end,
+                                                                              ScrollPosition position,
+                                                                              Limit limit, Sort sort);
 
     List<Booking> findByBookerIdAndItemIdAndEndBefore(Long bookerId, Long itemId, LocalDateTime end);
 
-    List<Booking> findByItemIdIn(List<Long> itemIds, Sort sort);
+    List<BookingPeriodView> findByItemIdAndStatusAndStartBeforeAndEndAfter(Long itemId, BookingStatus status,
+                                                                           LocalDateTime start, LocalDateTime end,
+                                                                           Sort sort);
 
-    List<Booking> findByItemIdInAndStatus(List<Long> itemIds, BookingStatus status, Sort sort);
+    List<BookingPeriodView> findByItemIdAndStatusAndEndAfter(Long itemId, BookingStatus status, LocalDateTime end,
+                                                             Sort sort, Limit limit);
 
-    List<Booking> findByItemIdInAndEndBefore(List<Long> itemIds, LocalDateTime end, Sort sort);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByItemOwner(Long ownerId, ScrollPosition position, Limit limit, Sort sort);
 
-    List<Booking> findByItemIdInAndStartAfter(List<Long> itemIds, LocalDateTime start, Sort sort);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByItemOwnerAndStatus(Long ownerId, BookingStatus status,
+                                             ScrollPosition position, Limit limit, Sort sort);
 
-    @Query("SELECT b FROM Booking b WHERE b.item.id = :itemId " +
-            "AND b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
-            "AND b.end < :now")
-    List<Booking> findLastBookingForItem(@Param("itemId") Long itemId, @Param("now") LocalDateTime now, Sort sort);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByItemOwnerAndEndBefore(Long ownerId, LocalDateTime end,
+                                                ScrollPosition position, Limit limit, Sort sort);
 
-    @Query("SELECT b FROM Booking b WHERE b.item.id = :itemId " +
-            "AND b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
-            "AND b.start > :now")
-    List<Booking> findNextBookingForItem(@Param("itemId") Long itemId, @Param("now") LocalDateTime now, Sort sort);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByItemOwnerAndStartAfter(Long ownerId, LocalDateTime start,
+                                                 ScrollPosition position, Limit limit, Sort sort);
 
-    @Query("SELECT b FROM Booking b WHERE b.booker.id = :bookerId " +
-            "AND b.start <= :now AND b.end >= :now")
-    List<Booking> findCurrentBookingsByBooker(@Param("bookerId") Long bookerId,
-                                              @Param("now") LocalDateTime now, Sort sort);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByItemOwnerAndStartLessThanEqualAndEndGreaterThanEqual(Long ownerId,
+                                                                               LocalDateTime start,
+                                                                               LocalDateTime end,
+                                                                               ScrollPosition position,
+                                                                               Limit limit, Sort sort);
 
-    @Query("SELECT b FROM Booking b WHERE b.item.id IN :itemIds " +
-            "AND b.start <= :now AND b.end >= :now")
-    List<Booking> findCurrentBookingsByItems(@Param("itemIds") List<Long> itemIds,
-                                             @Param("now") LocalDateTime now, Sort sort);
+    @Query("SELECT b.item.id FROM Booking b WHERE b.id = :bookingId")
+    Optional<Long> findItemIdById(@Param("bookingId") Long bookingId);
 
     @Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END FROM Booking b " +
             "WHERE b.item.id = :itemId AND b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
@@ -57,15 +86,17 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
                                       @Param("start") LocalDateTime start,
                                       @Param("end") LocalDateTime end);
 
-    @Query("SELECT b FROM Booking b WHERE b.item.id IN :itemIds " +
-            "AND b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
-            "AND b.end < :now")
-    List<Booking> findLastBookingsForItems(@Param("itemIds") List<Long> itemIds,
-                                           @Param("now") LocalDateTime now, Sort sort);
-
-    @Query("SELECT b FROM Booking b WHERE b.item.id IN :itemIds " +
-            "AND b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
-            "AND b.start > :now")
-    List<Booking> findNextBookingsForItems(@Param("itemIds") List<Long> itemIds,
-                                           @Param("now") LocalDateTime now, Sort sort);
+    @Query(value = "SELECT i.id AS itemId, " +
+            "lb.id AS lastBookingId, lb.booker_id AS lastBookerId, " +
+            "nb.id AS nextBookingId, nb.booker_id AS nextBookerId " +
+            "FROM items i " +
+            "LEFT JOIN bookings lb ON lb.id = (SELECT b.id FROM bookings b " +
+            "WHERE b.item_id = i.id AND b.status = 'APPROVED' AND b.end_date < :now " +
+            "ORDER BY b.end_date DESC LIMIT 1) " +
+            "LEFT JOIN bookings nb ON nb.id = (SELECT b.id FROM bookings b " +
+            "WHERE b.item_id = i.id AND b.status = 'APPROVED' AND b.start_date > :now " +
+            "ORDER BY b.start_date ASC LIMIT 1) " +
+            "WHERE i.id IN (:itemIds)", nativeQuery = true)
+    List<ItemBookingsView> findLastAndNextBookingsForItems(@Param("itemIds") List<Long> itemIds,
+                                                           @Param("now") LocalDateTime now);
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
 
 import java.util.List;
 
@@ -9,12 +10,20 @@ public interface BookingService {
 
     BookingResponseDto createBooking(BookingRequestDto bookingRequestDto, Long bookerId);
 
+    void rejectKnownOverlap(BookingRequestDto bookingRequestDto, Long bookerId);
+
+    Booking prepareBooking(BookingRequestDto bookingRequestDto, Long bookerId);
+
     BookingResponseDto updateBooking(Long bookingId, Long ownerId, boolean approved);
 
     BookingResponseDto getBookingById(Long bookingId, Long userId);
 
-    List<BookingResponseDto> getBookingByBookerId(Long bookerId, String state);
+    Long getBookingItemId(Long bookingId);
+
+    List<BookingResponseDto> getBookingByBookerId(Long bookerId, String state,
+                                                  Integer from, Integer size, String cursor);
 
-    List<BookingResponseDto> getBookingByOwnerId(Long ownerId, String state);
+    List<BookingResponseDto> getBookingByOwnerId(Long ownerId, String state,
+                                                 Integer from, Integer size, String cursor);
 
 }
\ No newline at end of file
@@ -1,18 +1,29 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.index.BookingApprovedEvent;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
+import ru.practicum.shareit.booking.lock.BookingItemLocks;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.utils.BookingCursor;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.invalidation.ItemChangedEvent;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
@@ -30,47 +41,58 @@ public class BookingServiceImpl implements BookingService {
     private static final String USER_NOT_FOUND = "Не удалось найти пользователя";
     private static final String ITEM_NOT_FOUND = "Не удалось найти предмет";
     private static final String ITEM_NOT_AVAILABLE = "Предмет недоступен";
+    private static final String ITEM_ALREADY_BOOKED = "Товар уже забронирован на указанный период";
+    private static final String BOOKING_PERIOD_CONSTRAINT = "excl_booking_item_period";
 
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final BookingMapper bookingMapper;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final BookingItemLocks bookingItemLocks;
+    private final ApplicationEventPublisher eventPublisher;
 
-    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "start");
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "start", "id");
 
     @Override
     @Transactional
     public BookingResponseDto createBooking(BookingRequestDto bookingRequestDto, Long bookerId) {
-        User booker = userRepository.findById(bookerId)
-                .orElseThrow(() -> new NotFoundException(USER_NOT_FOUND));
-
-        Item item = itemRepository.findById(bookingRequestDto.getItemId())
-                .orElseThrow(() -> new NotFoundException(ITEM_NOT_FOUND));
+        bookingItemLocks.lockInTransaction(bookingRequestDto.getItemId());
+        Booking savedBooking = bookingRepository.save(prepareBooking(bookingRequestDto, bookerId));
+        return bookingMapper.toBookingResponseDto(savedBooking);
+    }
 
-        if (!item.getAvailable()) {
-            throw new IllegalArgumentException(ITEM_NOT_AVAILABLE);
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void rejectKnownOverlap(BookingRequestDto bookingRequestDto, Long bookerId) {
+        if (bookingIntervalIndex.hasApprovedOverlap(bookingRequestDto.getItemId(),
+                bookingRequestDto.getStart(), bookingRequestDto.getEnd())) {
+            findBooker(bookerId);
+            findBookableItem(bookingRequestDto.getItemId(), bookerId);
+            throw new IllegalArgumentException(ITEM_ALREADY_BOOKED);
         }
+    }
 
-        if (item.getOwner().equals(bookerId)) {
-            throw new NoSuchElementException("Владелец не может забронировать собственный товар");
-        }
+    @Override
+    public Booking prepareBooking(BookingRequestDto bookingRequestDto, Long bookerId) {
+        User booker = findBooker(bookerId);
+        Item item = findBookableItem(bookingRequestDto.getItemId(), bookerId);
 
         if (bookingRepository.existsOverlappingBookings(item.getId(),
                 bookingRequestDto.getStart(), bookingRequestDto.getEnd())) {
-            throw new IllegalArgumentException("Товар уже забронирован на указанный период");
+            throw new IllegalArgumentException(ITEM_ALREADY_BOOKED);
         }
 
         Booking booking = bookingMapper.toBooking(bookingRequestDto);
         booking.setItem(item);
         booking.setBooker(booker);
         booking.setStatus(BookingStatus.WAITING);
-
-        Booking savedBooking = bookingRepository.save(booking);
-        return bookingMapper.toBookingResponseDto(savedBooking);
+        return booking;
     }
 
     @Transactional
     public BookingResponseDto updateBooking(Long bookingId, Long ownerId, boolean approved) {
+        bookingItemLocks.lockInTransaction(getBookingItemId(bookingId));
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException(BOOKING_NOT_FOUND));
 
@@ -87,7 +109,17 @@ public class BookingServiceImpl implements BookingService {
         }
 
         booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        Booking updatedBooking = bookingRepository.save(booking);
+        Booking updatedBooking;
+        try {
+            updatedBooking = bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            throw translateBookingPeriodViolation(e);
+        }
+        eventPublisher.publishEvent(new ItemChangedEvent(booking.getItem().getId(), false));
+        if (approved) {
+            eventPublisher.publishEvent(
+                    new BookingApprovedEvent(booking.getItem().getId(), booking.getStart(), booking.getEnd()));
+        }
         return bookingMapper.toBookingResponseDto(updatedBooking);
     }
 
@@ -104,75 +136,100 @@ public class BookingServiceImpl implements BookingService {
         return bookingMapper.toBookingResponseDto(booking);
     }
 
-    public List<BookingResponseDto> getBookingByBookerId(Long bookerId, String state) {
+    @Override
+    public Long getBookingItemId(Long bookingId) {
+        return bookingRepository.findItemIdById(bookingId)
+                .orElseThrow(() -> new NotFoundException(BOOKING_NOT_FOUND));
+    }
+
+    @Override
+    public List<BookingResponseDto> getBookingByBookerId(
+            Long bookerId, String state, Integer from, Integer size, String cursor
+    ) {
         userRepository.findById(bookerId).orElseThrow(() -> new NotFoundException(USER_NOT_FOUND));
 
         BookingState bookingState = parseBookingState(state);
+        ScrollPosition position = toScrollPosition(from, cursor);
+        Limit limit = Limit.of(size);
 
-        return switch (bookingState) {
-            case ALL -> bookingRepository.findByBookerId(bookerId, NEWEST_FIRST).stream()
-                    .map(bookingMapper::toBookingResponseDto)
-                    .toList();
+        Window<Booking> bookings = switch (bookingState) {
+            case ALL -> bookingRepository.findByBookerId(bookerId, position, limit, NEWEST_FIRST);
             case CURRENT -> {
                 LocalDateTime now = LocalDateTime.now();
-                yield bookingRepository.findCurrentBookingsByBooker(bookerId, now, NEWEST_FIRST).stream()
-                        .map(bookingMapper::toBookingResponseDto)
-                        .toList();
+                yield bookingRepository.findByBookerIdAndStartLessThanEqualAndEndGreaterThanEqual(
+                        bookerId, now, now, position, limit, NEWEST_FIRST);
             }
             case PAST -> bookingRepository.findByBookerIdAndEndBefore(
-                            bookerId, LocalDateTime.now(), NEWEST_FIRST).stream()
-                    .map(bookingMapper::toBookingResponseDto)
-                    .toList();
+                    bookerId, LocalDateTime.now(), position, limit, NEWEST_FIRST);
             case FUTURE -> bookingRepository.findByBookerIdAndStartAfter(
-                            bookerId, LocalDateTime.now(), NEWEST_FIRST).stream()
-                    .map(bookingMapper::toBookingResponseDto)
-                    .toList();
+                    bookerId, LocalDateTime.now(), position, limit, NEWEST_FIRST);
             case WAITING, REJECTED -> {
                 BookingStatus status = BookingStatus.valueOf(bookingState.name());
-                yield bookingRepository.findByBookerIdAndStatus(bookerId, status, NEWEST_FIRST).stream()
-                        .map(bookingMapper::toBookingResponseDto)
-                        .toList();
+                yield bookingRepository.findByBookerIdAndStatus(bookerId, status, position, limit, NEWEST_FIRST);
             }
         };
+
+        return bookings.stream()
+                .map(bookingMapper::toBookingResponseDto)
+                .toList();
     }
 
     @Override
-    public List<BookingResponseDto> getBookingByOwnerId(Long ownerId, String state) {
+    public List<BookingResponseDto> getBookingByOwnerId(
+            Long ownerId, String state, Integer from, Integer size, String cursor
+    ) {
         userRepository.findById(ownerId).orElseThrow(() -> new NotFoundException(USER_NOT_FOUND));
 
         BookingState bookingState = parseBookingState(state);
+        ScrollPosition position = toScrollPosition(from, cursor);
+        Limit limit = Limit.of(size);
 
-        List<Long> ownerItemIds = itemRepository.findByOwner(ownerId).stream()
-                .map(Item::getId)
-                .toList();
-
-        if (ownerItemIds.isEmpty()) {
-            return List.of();
-        }
-
-        return switch (bookingState) {
-            case ALL -> bookingRepository.findByItemIdIn(ownerItemIds, NEWEST_FIRST).stream()
-                    .map(bookingMapper::toBookingResponseDto)
-                    .toList();
-            case CURRENT -> bookingRepository.findCurrentBookingsByItems(
-                            ownerItemIds, LocalDateTime.now(), NEWEST_FIRST).stream()
-                    .map(bookingMapper::toBookingResponseDto)
-                    .toList();
-            case PAST -> bookingRepository.findByItemIdInAndEndBefore(
-                            ownerItemIds, LocalDateTime.now(), NEWEST_FIRST).stream()
-                    .map(bookingMapper::toBookingResponseDto)
-                    .toList();
-            case FUTURE -> bookingRepository.findByItemIdInAndStartAfter(
-                            ownerItemIds, LocalDateTime.now(), NEWEST_FIRST).stream()
-                    .map(bookingMapper::toBookingResponseDto)
-                    .toList();
+        Window<Booking> bookings = switch (bookingState) {
+            case ALL -> bookingRepository.findByItemOwner(ownerId, position, limit, NEWEST_FIRST);
+            case CURRENT -> {
+                LocalDateTime now = LocalDateTime.now();
+                yield bookingRepository.findByItemOwnerAndStartLessThanEqualAndEndGreaterThanEqual(
+                        ownerId, now, now, position, limit, NEWEST_FIRST);
+            }
+            case PAST -> bookingRepository.findByItemOwnerAndEndBefore(
+                    ownerId, LocalDateTime.now(), position, limit, NEWEST_FIRST);
+            case FUTURE -> bookingRepository.findByItemOwnerAndStartAfter(
+                    ownerId, LocalDateTime.now(), position, limit, NEWEST_FIRST);
             case WAITING, REJECTED -> {
                 BookingStatus status = BookingStatus.valueOf(bookingState.name());
-                yield bookingRepository.findByItemIdInAndStatus(ownerItemIds, status, NEWEST_FIRST).stream()
-                        .map(bookingMapper::toBookingResponseDto)
-                        .toList();
+                yield bookingRepository.findByItemOwnerAndStatus(ownerId, status, position, limit, NEWEST_FIRST);
             }
         };
+
+        return bookings.stream()
+                .map(bookingMapper::toBookingResponseDto)
+                .toList();
+    }
+
+    private ScrollPosition toScrollPosition(Integer from, String cursor) {
+        if (cursor != null && !cursor.isBlank()) {
+            return BookingCursor.decode(cursor);
+        }
+        return from == null || from == 0 ? ScrollPosition.offset() : ScrollPosition.offset(from - 1);
+    }
+
+    private User findBooker(Long bookerId) {
+        return userRepository.findById(bookerId)
+                .orElseThrow(() -> new NotFoundException(USER_NOT_FOUND));
+    }
+
+    private Item findBookableItem(Long itemId, Long bookerId) {
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new NotFoundException(ITEM_NOT_FOUND));
+
+        if (!item.getAvailable()) {
+            throw new IllegalArgumentException(ITEM_NOT_AVAILABLE);
+        }
+
+        if (item.getOwner().equals(bookerId)) {
+            throw new NoSuchElementException("Владелец не может забронировать собственный товар");
+        }
+        return item;
     }
 
     private BookingState parseBookingState(String state) {
@@ -182,4 +239,12 @@ public class BookingServiceImpl implements BookingService {
             throw new IllegalArgumentException("Неизвестное состояние: " + state);
         }
     }
+
+    private RuntimeException translateBookingPeriodViolation(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        if (message != null && message.contains(BOOKING_PERIOD_CONSTRAINT)) {
+            return new IllegalArgumentException(ITEM_ALREADY_BOOKED);
+        }
+        return e;
+    }
 }
\ No newline at end of file
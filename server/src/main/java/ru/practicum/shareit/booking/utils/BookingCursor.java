@@ -0,0 +1,37 @@
+package ru.practicum.shareit.booking.utils;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Map;
+
+@UtilityClass
+public class BookingCursor {
+    private static final String SEPARATOR = "|";
+    private static final String INVALID_CURSOR = "Некорректный курсор: ";
+
+    public static String encode(LocalDateTime start, Long id) {
+        String raw = start + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetScrollPosition decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.lastIndexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new IllegalArgumentException(INVALID_CURSOR + cursor);
+            }
+            LocalDateTime start = LocalDateTime.parse(raw.substring(0, separatorIndex));
+            Long id = Long.valueOf(raw.substring(separatorIndex + 1));
+            return ScrollPosition.forward(Map.of("start", start, "id", id));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR + cursor);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+@Component
+public class IdempotencyStore {
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final Cache<String, Entry> entries;
+
+    public IdempotencyStore(
+            @Value("${shareit.idempotency.max-size:10000}") long maxSize,
+            @Value("${shareit.idempotency.ttl:24h}") Duration ttl
+    ) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public <T> T execute(String operation, Long userId, @Nullable String key, Object request, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException("Ключ идемпотентности не может быть длиннее " + MAX_KEY_LENGTH + " символов");
+        }
+
+        String cacheKey = operation + ':' + userId + ':' + key;
+        Entry entry = new Entry(request, new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(cacheKey, entry);
+        if (existing != null) {
+            return replay(existing, request);
+        }
+
+        try {
+            T result = action.get();
+            entry.result().complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            entries.asMap().remove(cacheKey, entry);
+            entry.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T replay(Entry existing, Object request) {
+        if (!existing.request().equals(request)) {
+            throw new ValidationException("Ключ идемпотентности уже использован для другого запроса");
+        }
+        try {
+            return (T) existing.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Entry(Object request, CompletableFuture<Object> result) {
+    }
+}
@@ -2,14 +2,20 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.idempotency.IdempotencyStore;
 import ru.practicum.shareit.item.comment.dto.CommentRequestDto;
 import ru.practicum.shareit.item.comment.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.invalidation.ItemInvalidationLog;
+import ru.practicum.shareit.item.invalidation.dto.ItemInvalidationsDto;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -18,16 +24,21 @@ import java.util.List;
 @Slf4j
 public class ItemController {
     private static final String SHARER_USER_ID = "X-Sharer-User-Id";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
 
     private final ItemService itemService;
+    private final ItemInvalidationLog itemInvalidationLog;
+    private final IdempotencyStore idempotencyStore;
 
     @PostMapping
     public ResponseEntity<ItemResponseDto> createItem(
             @RequestHeader(SHARER_USER_ID) Long userId,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @RequestBody ItemRequestDto itemDto
     ) {
         log.info("Запрос на создание предмета пользователем {}: {}", userId, itemDto);
-        ItemResponseDto item = itemService.createItem(userId, itemDto);
+        ItemResponseDto item = idempotencyStore.execute("POST /items", userId, idempotencyKey, itemDto,
+                () -> itemService.createItem(userId, itemDto));
         return ResponseEntity.ok(item);
     }
 
@@ -54,13 +65,32 @@ public class ItemController {
     public ResponseEntity<List<ItemResponseDto>> searchItems(
             @RequestParam String text,
             @RequestParam Integer from,
-            @RequestParam Integer size
+            @RequestParam Integer size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end
     ) {
-        log.info("Запрос на поиск предметов по тексту - {}", text);
-        List<ItemResponseDto> items = itemService.searchItems(text, from, size);
+        log.info("Запрос на поиск предметов по тексту - {}, свободных с {} по {}", text, start, end);
+        List<ItemResponseDto> items = itemService.searchItems(text, from, size, start, end);
         return ResponseEntity.ok(items);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<ItemAvailabilityDto> getAvailability(
+            @PathVariable Long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        log.info("Запрос на получение занятости предмета {} с {} по {}", itemId, from, to);
+        return ResponseEntity.ok(itemService.getAvailability(itemId, from, to));
+    }
+
+    @GetMapping("/invalidations")
+    public ResponseEntity<ItemInvalidationsDto> getInvalidations(
+            @RequestParam(defaultValue = "-1") long after
+    ) {
+        return ResponseEntity.ok(itemInvalidationLog.getChangesAfter(after));
+    }
+
     @PatchMapping("/{itemId}")
     public ResponseEntity<ItemResponseDto> updateItem(
             @RequestHeader(SHARER_USER_ID) Long userId,
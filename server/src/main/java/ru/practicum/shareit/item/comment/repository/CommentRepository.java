@@ -1,7 +1,10 @@
 package ru.practicum.shareit.item.comment.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.comment.dto.CommentView;
 import ru.practicum.shareit.item.comment.model.Comment;
 
 import java.util.List;
@@ -9,7 +12,13 @@ import java.util.List;
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    List<Comment> findByItemId(Long itemId);
+    @Query("SELECT c.id AS id, c.item.id AS itemId, c.text AS text, a.name AS authorName, c.created AS created " +
+            "FROM Comment c JOIN c.author a " +
+            "WHERE c.item.id = :itemId")
+    List<CommentView> findByItemId(@Param("itemId") Long itemId);
 
-    List<Comment> findByItemIdIn(List<Long> itemIds);
+    @Query("SELECT c.id AS id, c.item.id AS itemId, c.text AS text, a.name AS authorName, c.created AS created " +
+            "FROM Comment c JOIN c.author a " +
+            "WHERE c.item.id IN :itemIds")
+    List<CommentView> findByItemIdIn(@Param("itemIds") List<Long> itemIds);
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.item.invalidation;
+
+public record ItemChangedEvent(
+        Long itemId,
+        boolean affectsSearch
+) {
+}
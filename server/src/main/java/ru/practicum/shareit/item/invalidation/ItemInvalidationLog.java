@@ -0,0 +1,58 @@
+package ru.practicum.shareit.item.invalidation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.invalidation.dto.ItemInvalidationsDto;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Component
+public class ItemInvalidationLog {
+    private final String epoch = UUID.randomUUID().toString();
+    private final int capacity;
+    private final Deque<Change> changes = new ArrayDeque<>();
+    private long sequence;
+
+    public ItemInvalidationLog(@Value("${shareit.item-invalidation.capacity:10000}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onItemChanged(ItemChangedEvent event) {
+        sequence++;
+        changes.addLast(new Change(sequence, event.itemId(), event.affectsSearch()));
+        if (changes.size() > capacity) {
+            changes.removeFirst();
+        }
+    }
+
+    public synchronized ItemInvalidationsDto getChangesAfter(long after) {
+        long oldestRetained = changes.isEmpty() ? sequence + 1 : changes.getFirst().sequence();
+        if (after > sequence || after < oldestRetained - 1) {
+            return new ItemInvalidationsDto(epoch, sequence, true, true, List.of());
+        }
+
+        Set<Long> itemIds = new LinkedHashSet<>();
+        boolean searchChanged = false;
+        Iterator<Change> newestFirst = changes.descendingIterator();
+        while (newestFirst.hasNext()) {
+            Change change = newestFirst.next();
+            if (change.sequence() <= after) {
+                break;
+            }
+            itemIds.add(change.itemId());
+            searchChanged |= change.affectsSearch();
+        }
+        return new ItemInvalidationsDto(epoch, sequence, false, searchChanged, List.copyOf(itemIds));
+    }
+
+    private record Change(long sequence, Long itemId, boolean affectsSearch) {
+    }
+}
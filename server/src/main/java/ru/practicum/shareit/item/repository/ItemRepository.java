@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
@@ -14,9 +15,45 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
 
     List<Item> findByRequestId(Long requestId);
 
+    List<Item> findByRequestIdIn(List<Long> requestIds);
+
     @Query("SELECT i FROM Item i " +
             "WHERE i.available = true " +
             "AND (LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) " +
             "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%')))")
     List<Item> searchAvailableItems(@Param("text") String text, Pageable pageable);
+
+    @Query("SELECT i FROM Item i " +
+            "WHERE i.available = true " +
+            "AND (LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) " +
+            "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%'))) " +
+            "AND NOT EXISTS (SELECT b.id FROM Booking b WHERE b.item = i " +
+            "AND b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
+            "AND b.start < :end AND b.end > :start) " +
+            "ORDER BY i.id")
+    List<Item> searchAvailableItemsFreeBetween(@Param("text") String text,
+                                               @Param("start") LocalDateTime start,
+                                               @Param("end") LocalDateTime end,
+                                               Pageable pageable);
+
+    @Query(value = "SELECT i.id, i.name, i.description, i.is_available, i.owner_id, i.request_id " +
+            "FROM items i " +
+            "WHERE i.is_available = true " +
+            "AND i.search_vector @@ to_tsquery('russian', :query) " +
+            "ORDER BY ts_rank(i.search_vector, to_tsquery('russian', :query)) DESC, i.id",
+            nativeQuery = true)
+    List<Item> searchAvailableItemsFullText(@Param("query") String query, Pageable pageable);
+
+    @Query(value = "SELECT i.id, i.name, i.description, i.is_available, i.owner_id, i.request_id " +
+            "FROM items i " +
+            "WHERE i.is_available = true " +
+            "AND i.search_vector @@ to_tsquery('russian', :query) " +
+            "AND NOT EXISTS (SELECT 1 FROM bookings b WHERE b.item_id = i.id AND b.status = 'APPROVED' " +
+            "AND tsrange(b.start_date, b.end_date) && tsrange(:start, :end)) " +
+            "ORDER BY ts_rank(i.search_vector, to_tsquery('russian', :query)) DESC, i.id",
+            nativeQuery = true)
+    List<Item> searchAvailableItemsFullTextFreeBetween(@Param("query") String query,
+                                                       @Param("start") LocalDateTime start,
+                                                       @Param("end") LocalDateTime end,
+                                                       Pageable pageable);
 }
\ No newline at end of file
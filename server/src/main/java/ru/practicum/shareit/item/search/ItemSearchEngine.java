@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ItemSearchEngine {
+
+    List<Item> searchAvailableItems(String text, Pageable pageable);
+
+    List<Item> searchItemsFreeBetween(String text, LocalDateTime start, LocalDateTime end, Pageable pageable);
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item-search.engine", havingValue = "like", matchIfMissing = true)
+public class LikeItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> searchAvailableItems(String text, Pageable pageable) {
+        return itemRepository.searchAvailableItems(text.toLowerCase(), pageable);
+    }
+
+    @Override
+    public List<Item> searchItemsFreeBetween(String text, LocalDateTime start, LocalDateTime end, Pageable pageable) {
+        return itemRepository.searchAvailableItemsFreeBetween(text.toLowerCase(), start, end, pageable);
+    }
+}
@@ -2,9 +2,11 @@ package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.comment.dto.CommentRequestDto;
 import ru.practicum.shareit.item.comment.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -17,7 +19,9 @@ public interface ItemService {
 
     List<ItemResponseDto> getAllUserItems(Long userId);
 
-    List<ItemResponseDto> searchItems(String text, Integer from, Integer size);
+    List<ItemResponseDto> searchItems(String text, Integer from, Integer size, LocalDateTime start, LocalDateTime end);
+
+    ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
 
     CommentResponseDto addComment(Long itemId, CommentRequestDto commentRequestDto, Long userId);
 
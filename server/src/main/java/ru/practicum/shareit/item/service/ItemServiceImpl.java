@@ -1,29 +1,38 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingPeriodView;
+import ru.practicum.shareit.booking.dto.ItemBookingsView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.comment.dto.CommentRequestDto;
 import ru.practicum.shareit.item.comment.dto.CommentResponseDto;
+import ru.practicum.shareit.item.comment.dto.CommentView;
 import ru.practicum.shareit.item.comment.model.Comment;
 import ru.practicum.shareit.item.comment.repository.CommentRepository;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.item.invalidation.ItemChangedEvent;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,15 +42,17 @@ public class ItemServiceImpl implements ItemService {
     private static final String ITEM_NOT_FOUND = "Предмет не найден по ID ";
     private static final String USER_NOT_OWNER = "Пользователь не является владельцем предмета";
     private static final String USER_NOT_FOUND = "Не удалось найти пользователя с ID ";
+    private static final String PERIOD_NOT_ORDERED = "Начало периода должно быть раньше его окончания";
+    private static final String PERIOD_INCOMPLETE = "Для поиска по датам нужно указать начало и окончание периода";
+    private static final Sort EARLIEST_FIRST = Sort.by(Sort.Direction.ASC, "start", "id");
 
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final ItemSearchEngine itemSearchEngine;
     private final ItemMapper itemMapper;
-
-    private static final Sort END_DESC = Sort.by(Sort.Direction.DESC, "end");
-    private static final Sort START_ASC = Sort.by(Sort.Direction.ASC, "start");
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -55,6 +66,7 @@ public class ItemServiceImpl implements ItemService {
         Item item = itemMapper.toItem(itemRequestDto);
         item.setOwner(owner.getId());
         Item savedItem = itemRepository.save(item);
+        eventPublisher.publishEvent(new ItemChangedEvent(savedItem.getId(), true));
 
         return itemMapper.toItemResponseDto(savedItem);
     }
@@ -93,41 +105,33 @@ public class ItemServiceImpl implements ItemService {
         LocalDateTime now = LocalDateTime.now();
         List<Long> itemIds = items.stream().map(Item::getId).toList();
 
-        Map<Long, List<Booking>> lastBookingsMap = getLastBookingsMap(itemIds, now);
-        Map<Long, List<Booking>> nextBookingsMap = getNextBookingsMap(itemIds, now);
-        Map<Long, List<Comment>> commentsMap = getCommentsMap(itemIds);
+        Map<Long, ItemBookingsView> bookingsMap = getBookingsMap(itemIds, now);
+        Map<Long, List<CommentView>> commentsMap = getCommentsMap(itemIds);
 
         return items.stream()
-                .map(item -> createItemResponseDto(item, lastBookingsMap, nextBookingsMap, commentsMap))
+                .map(item -> createItemResponseDto(item, bookingsMap, commentsMap))
                 .toList();
     }
 
-    private Map<Long, List<Booking>> getLastBookingsMap(List<Long> itemIds, LocalDateTime now) {
-        return bookingRepository.findLastBookingsForItems(itemIds, now, END_DESC)
+    private Map<Long, ItemBookingsView> getBookingsMap(List<Long> itemIds, LocalDateTime now) {
+        return bookingRepository.findLastAndNextBookingsForItems(itemIds, now)
                 .stream()
-                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+                .collect(Collectors.toMap(ItemBookingsView::getItemId, Function.identity()));
     }
 
-    private Map<Long, List<Booking>> getNextBookingsMap(List<Long> itemIds, LocalDateTime now) {
-        return bookingRepository.findNextBookingsForItems(itemIds, now, START_ASC)
-                .stream()
-                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
-    }
-
-    private Map<Long, List<Comment>> getCommentsMap(List<Long> itemIds) {
+    private Map<Long, List<CommentView>> getCommentsMap(List<Long> itemIds) {
         return commentRepository.findByItemIdIn(itemIds)
                 .stream()
-                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+                .collect(Collectors.groupingBy(CommentView::getItemId));
     }
 
     private ItemResponseDto createItemResponseDto(
             Item item,
-            Map<Long, List<Booking>> lastBookingsMap,
-            Map<Long, List<Booking>> nextBookingsMap,
-            Map<Long, List<Comment>> commentsMap
+            Map<Long, ItemBookingsView> bookingsMap,
+            Map<Long, List<CommentView>> commentsMap
     ) {
         ItemResponseDto dto = itemMapper.toItemResponseDto(item);
-        addBookingInfoToDto(dto, item.getId(), lastBookingsMap, nextBookingsMap);
+        addBookingInfoToDto(dto, bookingsMap.get(item.getId()));
         addCommentsToDto(dto, item.getId(), commentsMap);
         return dto;
     }
@@ -136,15 +140,25 @@ public class ItemServiceImpl implements ItemService {
     public List<ItemResponseDto> searchItems(
             String text,
             Integer from,
-            Integer size
+            Integer size,
+            LocalDateTime start,
+            LocalDateTime end
     ) {
+        if ((start == null) != (end == null)) {
+            throw new ValidationException(PERIOD_INCOMPLETE);
+        }
+        if (start != null && !start.isBefore(end)) {
+            throw new ValidationException(PERIOD_NOT_ORDERED);
+        }
         if (text == null || text.isBlank()) {
             return List.of();
         }
 
-        return itemRepository.searchAvailableItems(text.toLowerCase(),
-                        Pageable.ofSize(size).withPage(from / size))
-                .stream()
+        Pageable pageable = Pageable.ofSize(size).withPage(from / size);
+        List<Item> items = start == null
+                ? itemSearchEngine.searchAvailableItems(text, pageable)
+                : itemSearchEngine.searchItemsFreeBetween(text, start, end, pageable);
+        return items.stream()
                 .map(item -> {
                     ItemResponseDto dto = itemMapper.toItemResponseDto(item);
                     dto.setLastBooking(null);
@@ -155,6 +169,47 @@ public class ItemServiceImpl implements ItemService {
                 .toList();
     }
 
+    @Override
+    public ItemAvailabilityDto getAvailability(
+            Long itemId,
+            LocalDateTime from,
+            LocalDateTime to
+    ) {
+        if (!from.isBefore(to)) {
+            throw new ValidationException(PERIOD_NOT_ORDERED);
+        }
+
+        List<BookingPeriodView> bookings = bookingRepository.findByItemIdAndStatusAndStartBeforeAndEndAfter(
+                itemId, BookingStatus.APPROVED, to, from, EARLIEST_FIRST);
+        if (bookings.isEmpty() && !itemRepository.existsById(itemId)) {
+            throw new NotFoundException(ITEM_NOT_FOUND + itemId);
+        }
+
+        List<ItemAvailabilityDto.Period> free = new ArrayList<>();
+        List<ItemAvailabilityDto.Period> busy = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (BookingPeriodView booking : bookings) {
+            LocalDateTime start = booking.getStart().isBefore(from) ? from : booking.getStart();
+            LocalDateTime end = booking.getEnd().isAfter(to) ? to : booking.getEnd();
+            if (busy.isEmpty() || start.isAfter(cursor)) {
+                if (start.isAfter(cursor)) {
+                    free.add(new ItemAvailabilityDto.Period(cursor, start));
+                }
+                busy.add(new ItemAvailabilityDto.Period(start, end));
+            } else if (end.isAfter(cursor)) {
+                busy.getLast().setEnd(end);
+            }
+            if (end.isAfter(cursor)) {
+                cursor = end;
+            }
+        }
+        if (cursor.isBefore(to)) {
+            free.add(new ItemAvailabilityDto.Period(cursor, to));
+        }
+
+        return new ItemAvailabilityDto(itemId, from, to, free, busy);
+    }
+
     @Override
     @Transactional
     public ItemResponseDto updateItem(
@@ -180,6 +235,7 @@ public class ItemServiceImpl implements ItemService {
         }
 
         Item updatedItem = itemRepository.save(existingItem);
+        eventPublisher.publishEvent(new ItemChangedEvent(itemId, true));
         return itemMapper.toItemResponseDto(updatedItem);
     }
 
@@ -194,6 +250,7 @@ public class ItemServiceImpl implements ItemService {
         }
 
         itemRepository.deleteById(itemId);
+        eventPublisher.publishEvent(new ItemChangedEvent(itemId, true));
     }
 
     @Override
@@ -226,50 +283,42 @@ public class ItemServiceImpl implements ItemService {
         comment.setCreated(LocalDateTime.now());
 
         Comment savedComment = commentRepository.save(comment);
+        eventPublisher.publishEvent(new ItemChangedEvent(itemId, false));
         return toCommentResponseDto(savedComment);
     }
 
     private void addBookingInfoToDto(ItemResponseDto dto, Long itemId) {
-        LocalDateTime now = LocalDateTime.now();
+        List<ItemBookingsView> bookings = bookingRepository.findLastAndNextBookingsForItems(
+                List.of(itemId), LocalDateTime.now());
 
-        List<Booking> lastBookings = bookingRepository.findLastBookingForItem(itemId, now, END_DESC);
-        List<Booking> nextBookings = bookingRepository.findNextBookingForItem(itemId, now, START_ASC);
-
-        if (!lastBookings.isEmpty()) {
-            dto.setLastBooking(createBookingInfo(lastBookings.getFirst()));
-        }
-
-        if (!nextBookings.isEmpty()) {
-            dto.setNextBooking(createBookingInfo(nextBookings.getFirst()));
+        if (!bookings.isEmpty()) {
+            addBookingInfoToDto(dto, bookings.getFirst());
         }
     }
 
-    private void addBookingInfoToDto(
-            ItemResponseDto dto, Long itemId,
-            Map<Long, List<Booking>> lastBookingsMap,
-            Map<Long, List<Booking>> nextBookingsMap
-    ) {
-        List<Booking> lastBookings = lastBookingsMap.getOrDefault(itemId, List.of());
-        List<Booking> nextBookings = nextBookingsMap.getOrDefault(itemId, List.of());
+    private void addBookingInfoToDto(ItemResponseDto dto, ItemBookingsView bookings) {
+        if (bookings == null) {
+            return;
+        }
 
-        if (!lastBookings.isEmpty()) {
-            dto.setLastBooking(createBookingInfo(lastBookings.getFirst()));
+        if (bookings.getLastBookingId() != null) {
+            dto.setLastBooking(createBookingInfo(bookings.getLastBookingId(), bookings.getLastBookerId()));
         }
 
-        if (!nextBookings.isEmpty()) {
-            dto.setNextBooking(createBookingInfo(nextBookings.getFirst()));
+        if (bookings.getNextBookingId() != null) {
+            dto.setNextBooking(createBookingInfo(bookings.getNextBookingId(), bookings.getNextBookerId()));
         }
     }
 
-    private ItemResponseDto.BookingInfo createBookingInfo(Booking booking) {
+    private ItemResponseDto.BookingInfo createBookingInfo(Long bookingId, Long bookerId) {
         ItemResponseDto.BookingInfo bookingInfo = new ItemResponseDto.BookingInfo();
-        bookingInfo.setId(booking.getId());
-        bookingInfo.setBookerId(booking.getBooker().getId());
+        bookingInfo.setId(bookingId);
+        bookingInfo.setBookerId(bookerId);
         return bookingInfo;
     }
 
     private void addCommentsToDto(ItemResponseDto dto, Long itemId) {
-        List<Comment> comments = commentRepository.findByItemId(itemId);
+        List<CommentView> comments = commentRepository.findByItemId(itemId);
         List<CommentResponseDto> commentDto = comments.stream()
                 .map(this::toCommentResponseDto)
                 .toList();
@@ -279,9 +328,9 @@ public class ItemServiceImpl implements ItemService {
     private void addCommentsToDto(
             ItemResponseDto dto,
             Long itemId,
-            Map<Long, List<Comment>> commentsMap
+            Map<Long, List<CommentView>> commentsMap
     ) {
-        List<Comment> comments = commentsMap.getOrDefault(itemId, List.of());
+        List<CommentView> comments = commentsMap.getOrDefault(itemId, List.of());
         List<CommentResponseDto> commentDto = comments.stream()
                 .map(this::toCommentResponseDto)
                 .toList();
@@ -296,4 +345,13 @@ public class ItemServiceImpl implements ItemService {
         dto.setCreated(comment.getCreated());
         return dto;
     }
+
+    private CommentResponseDto toCommentResponseDto(CommentView comment) {
+        CommentResponseDto dto = new CommentResponseDto();
+        dto.setId(comment.getId());
+        dto.setText(comment.getText());
+        dto.setAuthorName(comment.getAuthorName());
+        dto.setCreated(comment.getCreated());
+        return dto;
+    }
 }
\ No newline at end of file
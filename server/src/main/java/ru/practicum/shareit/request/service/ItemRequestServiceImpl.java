@@ -17,6 +17,8 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -47,9 +49,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 new NotFoundException(USER_NOT_FOUND + requestorId));
 
         List<ItemRequest> requests = itemRequestRepository.findByRequestorIdOrderByCreatedDesc(requestorId);
-        return requests.stream()
-                .map(this::toItemRequestResponseDto)
-                .toList();
+        return toItemRequestResponseDto(requests);
     }
 
     @Override
@@ -61,9 +61,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         List<ItemRequest> requests = itemRequestRepository.findByRequestorIdNotOrderByCreatedDesc(
                 requestorId, pageable);
 
-        return requests.stream()
-                .map(this::toItemRequestResponseDto)
-                .toList();
+        return toItemRequestResponseDto(requests);
     }
 
     @Override
@@ -78,4 +76,21 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         List<Item> items = itemRepository.findByRequestId(itemRequest.getId());
         return itemRequestMapper.toItemRequestResponseDto(itemRequest, items);
     }
+
+    private List<ItemRequestResponseDto> toItemRequestResponseDto(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> requestIds = requests.stream()
+                .map(ItemRequest::getId)
+                .toList();
+        Map<Long, List<Item>> itemsByRequest = itemRepository.findByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(Item::getRequestId));
+
+        return requests.stream()
+                .map(request -> itemRequestMapper.toItemRequestResponseDto(
+                        request, itemsByRequest.getOrDefault(request.getId(), List.of())))
+                .toList();
+    }
 }
\ No newline at end of file
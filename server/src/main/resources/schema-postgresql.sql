@@ -0,0 +1,19 @@
+ALTER TABLE items ADD COLUMN IF NOT EXISTS search_vector tsvector
+  GENERATED ALWAYS AS (
+    setweight(to_tsvector('russian', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('russian', coalesce(description, '')), 'B')
+  ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_item_search_vector ON items USING GIN (search_vector);
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+DO '
+BEGIN
+  IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conrelid = ''bookings''::regclass
+                   AND conname = ''excl_booking_item_period'') THEN
+    ALTER TABLE bookings ADD CONSTRAINT excl_booking_item_period
+      EXCLUDE USING GIST (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+      WHERE (status = ''APPROVED'');
+  END IF;
+END';
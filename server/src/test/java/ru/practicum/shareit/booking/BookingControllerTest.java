@@ -0,0 +1,109 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingControllerTest {
+    private static final String SHARER_USER_ID = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User booker;
+    private BookingRequestDto bookedPeriod;
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User();
+        owner.setName("Владелец");
+        owner.setEmail("owner@yandex.ru");
+        owner = userRepository.save(owner);
+
+        booker = new User();
+        booker.setName("Арендатор");
+        booker.setEmail("booker@yandex.ru");
+        booker = userRepository.save(booker);
+
+        Item item = new Item();
+        item.setName("Дрель");
+        item.setDescription("Мощная дрель");
+        item.setAvailable(true);
+        item.setOwner(owner.getId());
+        item = itemRepository.save(item);
+
+        Booking approved = new Booking();
+        approved.setStart(LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS));
+        approved.setEnd(approved.getStart().plusDays(1));
+        approved.setItem(item);
+        approved.setBooker(booker);
+        approved.setStatus(BookingStatus.APPROVED);
+        approved = bookingRepository.save(approved);
+
+        bookedPeriod = new BookingRequestDto();
+        bookedPeriod.setItemId(item.getId());
+        bookedPeriod.setStart(approved.getStart().plusHours(1));
+        bookedPeriod.setEnd(approved.getEnd().plusHours(1));
+    }
+
+    @Test
+    @DisplayName("Несуществующий арендатор бронирует занятый период -> 404, а не отказ из-за пересечения")
+    void createBooking_whenUserNotExistsAndPeriodBooked_thenNotFound() throws Exception {
+        mockMvc.perform(post("/bookings")
+                        .header(SHARER_USER_ID, 999L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookedPeriod)))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Не удалось найти пользователя"));
+    }
+
+    @Test
+    @DisplayName("Существующий арендатор бронирует занятый период -> 400")
+    void createBooking_whenPeriodBooked_thenBadRequest() throws Exception {
+        mockMvc.perform(post("/bookings")
+                        .header(SHARER_USER_ID, booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookedPeriod)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Товар уже забронирован на указанный период"));
+    }
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.booking.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.dto.BookingPeriodView;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingIntervalIndexTest {
+    private static final LocalDateTime BASE = LocalDateTime.now().plusDays(1).withNano(0);
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final BookingIntervalIndex index =
+            new BookingIntervalIndex(bookingRepository, 1000, 3, Duration.ofMinutes(10));
+
+    @Test
+    @DisplayName("Проверка пересечения -> учитываются только пересекающиеся, смежные периоды допустимы")
+    void hasApprovedOverlap_whenPeriodsLoaded_thenUseHalfOpenIntervals() {
+        givenApproved(1L, period(0, 2), period(4, 6));
+
+        assertThat(index.hasApprovedOverlap(1L, at(1), at(3))).isTrue();
+        assertThat(index.hasApprovedOverlap(1L, at(5), at(9))).isTrue();
+        assertThat(index.hasApprovedOverlap(1L, at(-1), at(10))).isTrue();
+        assertThat(index.hasApprovedOverlap(1L, at(2), at(4))).isFalse();
+        assertThat(index.hasApprovedOverlap(1L, at(6), at(8))).isFalse();
+        assertThat(index.hasApprovedOverlap(1L, at(-2), at(0))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Повторные проверки одного предмета -> периоды загружаются из базы один раз")
+    void hasApprovedOverlap_whenCalledRepeatedly_thenLoadOnce() {
+        givenApproved(1L, period(0, 2));
+
+        index.hasApprovedOverlap(1L, at(1), at(3));
+        index.hasApprovedOverlap(1L, at(5), at(7));
+
+        verify(bookingRepository, times(1)).findByItemIdAndStatusAndEndAfter(
+                eq(1L), eq(BookingStatus.APPROVED), any(LocalDateTime.class), any(Sort.class), eq(Limit.of(3)));
+    }
+
+    @Test
+    @DisplayName("Подтверждение бронирования загруженного предмета -> период добавляется в индекс")
+    void onBookingApproved_whenItemLoaded_thenAddPeriod() {
+        givenApproved(1L, period(0, 2));
+        index.hasApprovedOverlap(1L, at(0), at(1));
+
+        index.onBookingApproved(new BookingApprovedEvent(1L, at(10), at(12)));
+
+        assertThat(index.hasApprovedOverlap(1L, at(11), at(13))).isTrue();
+        assertThat(index.hasApprovedOverlap(1L, at(2), at(10))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Подтверждение бронирования незагруженного предмета -> база не запрашивается")
+    void onBookingApproved_whenItemNotLoaded_thenSkip() {
+        index.onBookingApproved(new BookingApprovedEvent(1L, at(10), at(12)));
+
+        verify(bookingRepository, never()).findByItemIdAndStatusAndEndAfter(
+                anyLong(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Превышение лимита периодов предмета -> отбрасываются самые поздние периоды")
+    void onBookingApproved_whenItemFull_thenDropLatestPeriod() {
+        givenApproved(1L, period(0, 1), period(2, 3), period(4, 5));
+        index.hasApprovedOverlap(1L, at(0), at(1));
+
+        index.onBookingApproved(new BookingApprovedEvent(1L, at(8), at(9)));
+        index.onBookingApproved(new BookingApprovedEvent(1L, at(6), at(7)));
+        index.onBookingApproved(new BookingApprovedEvent(1L, at(1), at(2)));
+
+        assertThat(index.hasApprovedOverlap(1L, at(1), at(2))).isTrue();
+        assertThat(index.hasApprovedOverlap(1L, at(2), at(3))).isTrue();
+        assertThat(index.hasApprovedOverlap(1L, at(4), at(5))).isFalse();
+        assertThat(index.hasApprovedOverlap(1L, at(8), at(9))).isFalse();
+    }
+
+    private void givenApproved(Long itemId, BookingPeriodView... periods) {
+        when(bookingRepository.findByItemIdAndStatusAndEndAfter(
+                eq(itemId), eq(BookingStatus.APPROVED), any(LocalDateTime.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(List.of(periods));
+    }
+
+    private static BookingPeriodView period(int startHour, int endHour) {
+        return new BookingPeriodView() {
+            @Override
+            public LocalDateTime getStart() {
+                return at(startHour);
+            }
+
+            @Override
+            public LocalDateTime getEnd() {
+                return at(endHour);
+            }
+        };
+    }
+
+    private static LocalDateTime at(int hour) {
+        return BASE.plusHours(hour);
+    }
+}
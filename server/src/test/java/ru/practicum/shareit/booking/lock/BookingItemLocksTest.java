@@ -0,0 +1,133 @@
+package ru.practicum.shareit.booking.lock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class BookingItemLocksTest {
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    @Test
+    @DisplayName("Одновременные записи по одному предмету -> выполняются по очереди")
+    void execute_whenSameItem_thenSerialize() throws Exception {
+        BookingItemLocks locks = new BookingItemLocks(jdbcTemplate, 16, false);
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int i = 0; i < threads; i++) {
+                executor.submit(() -> {
+                    start.await();
+                    return locks.execute(1L, () -> {
+                        maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                        sleepQuietly(10);
+                        return active.decrementAndGet();
+                    });
+                });
+            }
+            start.countDown();
+        }
+
+        assertThat(maxActive.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Запись по другому предмету -> не ждет блокировки занятого предмета")
+    void execute_whenOtherItem_thenRunInParallel() throws Exception {
+        BookingItemLocks locks = new BookingItemLocks(jdbcTemplate, 16, false);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<Boolean> holder = executor.submit(() -> locks.execute(1L, () -> {
+                holding.countDown();
+                return awaitQuietly(release);
+            }));
+            assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(locks.execute(2L, () -> "готово")).isEqualTo("готово");
+
+            release.countDown();
+            assertThat(holder.get(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Ошибка внутри блокировки -> блокировка освобождается")
+    void execute_whenActionFails_thenReleaseLock() {
+        BookingItemLocks locks = new BookingItemLocks(jdbcTemplate, 16, false);
+
+        assertThatThrownBy(() -> locks.execute(1L, () -> {
+            throw new IllegalArgumentException("Товар уже забронирован на указанный период");
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(locks.execute(1L, () -> "готово")).isEqualTo("готово");
+    }
+
+    @Test
+    @DisplayName("Рекомендательные блокировки выключены -> запрос в базу не выполняется")
+    void lockInTransaction_whenAdvisoryDisabled_thenSkip() {
+        BookingItemLocks locks = new BookingItemLocks(jdbcTemplate, 16, false);
+
+        locks.lockInTransaction(1L);
+
+        verify(jdbcTemplate, never()).queryForList(anyString(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Рекомендательные блокировки включены -> берется блокировка транзакции по ID предмета")
+    void lockInTransaction_whenAdvisoryEnabled_thenTakeTransactionLock() {
+        BookingItemLocks locks = new BookingItemLocks(jdbcTemplate, 16, true);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            locks.lockInTransaction(42L);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        verify(jdbcTemplate).queryForList("SELECT pg_advisory_xact_lock(?)", 42L);
+    }
+
+    @Test
+    @DisplayName("Рекомендательная блокировка вне транзакции -> IllegalStateException")
+    void lockInTransaction_whenNoTransaction_thenThrowIllegalStateException() {
+        BookingItemLocks locks = new BookingItemLocks(jdbcTemplate, 16, true);
+
+        assertThatThrownBy(() -> locks.lockInTransaction(42L)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static boolean awaitQuietly(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
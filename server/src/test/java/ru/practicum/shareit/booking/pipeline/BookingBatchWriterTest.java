@@ -0,0 +1,86 @@
+package ru.practicum.shareit.booking.pipeline;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.lock.BookingItemLocks;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "shareit.booking-lock.advisory=false")
+@Import({BookingBatchWriter.class, BookingItemLocks.class})
+class BookingBatchWriterTest {
+
+    @Autowired
+    private BookingBatchWriter bookingBatchWriter;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    @DisplayName("Пакетная запись бронирований -> все сохранены, каждому присвоен ID")
+    void insert_whenSeveralBookings_thenSaveAllWithIds() {
+        User owner = saveUser("Владелец", "owner@yandex.ru");
+        User booker = saveUser("Арендатор", "booker@yandex.ru");
+        Item item = new Item();
+        item.setName("Дрель");
+        item.setDescription("Мощная дрель");
+        item.setAvailable(true);
+        item.setOwner(owner.getId());
+        item = itemRepository.save(item);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+
+        List<Booking> bookings = List.of(
+                waiting(item, booker, start, start.plusHours(1)),
+                waiting(item, booker, start.plusHours(1), start.plusHours(2)),
+                waiting(item, booker, start, start.plusDays(1)));
+
+        List<Booking> saved = bookingBatchWriter.insert(bookings);
+
+        assertThat(saved).extracting(Booking::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(bookingRepository.findAllById(saved.stream().map(Booking::getId).toList()))
+                .hasSize(3)
+                .allSatisfy(booking -> {
+                    assertThat(booking.getStatus()).isEqualTo(BookingStatus.WAITING);
+                    assertThat(booking.getItem().getId()).isEqualTo(bookings.getFirst().getItem().getId());
+                });
+        assertThat(bookingRepository.findById(saved.get(1).getId()).orElseThrow().getStart())
+                .isEqualTo(start.plusHours(1));
+    }
+
+    private Booking waiting(Item item, User booker, LocalDateTime start, LocalDateTime end) {
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(BookingStatus.WAITING);
+        return booking;
+    }
+
+    private User saveUser(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,265 @@
+package ru.practicum.shareit.booking.pipeline;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingWritePipelineTest {
+    private static final LocalDateTime START = LocalDateTime.now().plusDays(1).withNano(0);
+
+    private final BookingService bookingService = mock(BookingService.class);
+    private final BookingBatchWriter bookingBatchWriter = mock(BookingBatchWriter.class);
+    private final BookingIntervalIndex bookingIntervalIndex = mock(BookingIntervalIndex.class);
+    private final BookingMapper bookingMapper = mock(BookingMapper.class);
+    private final AtomicLong ids = new AtomicLong();
+
+    private BookingWritePipeline pipeline;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pipeline.close();
+    }
+
+    @Test
+    @DisplayName("Одновременные бронирования одного предмета -> записываются одним пакетом")
+    void createBooking_whenConcurrentRequests_thenWriteOneBatch() throws Exception {
+        pipeline = pipeline(Duration.ofMillis(200), 64);
+        givenPrepared();
+        givenWriterAssignsIds();
+        int requests = 16;
+        List<Future<BookingResponseDto>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(requests)) {
+            for (int i = 0; i < requests; i++) {
+                BookingRequestDto request = request(1L, i);
+                results.add(executor.submit(() -> pipeline.createBooking(request, 2L)));
+            }
+            for (Future<BookingResponseDto> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).getId()).isNotNull();
+            }
+        }
+
+        verify(bookingBatchWriter, times(1)).insert(anyList());
+    }
+
+    @Test
+    @DisplayName("Пакет больше максимального размера -> записывается несколькими пакетами")
+    void createBooking_whenMoreThanMaxBatch_thenSplitBatches() throws Exception {
+        pipeline = pipeline(Duration.ofMillis(200), 4);
+        givenPrepared();
+        givenWriterAssignsIds();
+        int requests = 8;
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(requests)) {
+            List<Future<BookingResponseDto>> results = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                BookingRequestDto request = request(1L, i);
+                results.add(executor.submit(() -> pipeline.createBooking(request, 2L)));
+            }
+            for (Future<BookingResponseDto> result : results) {
+                result.get(5, TimeUnit.SECONDS);
+            }
+        }
+
+        verify(bookingBatchWriter, never()).insert(argThat(batch -> batch.size() > 4));
+    }
+
+    @Test
+    @DisplayName("Пересечение с подтвержденным бронированием в памяти шарда -> отказ без записи")
+    void createBooking_whenIndexReportsOverlap_thenRejectWithoutWrite() {
+        pipeline = pipeline(Duration.ofMillis(1), 64);
+        givenPrepared();
+        when(bookingIntervalIndex.hasApprovedOverlap(eq(1L), any(), any())).thenReturn(true);
+
+        assertThatThrownBy(() -> pipeline.createBooking(request(1L, 0), 2L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Товар уже забронирован на указанный период");
+        verify(bookingBatchWriter, never()).insert(anyList());
+    }
+
+    @Test
+    @DisplayName("Ошибка проверки запроса -> запрос не попадает в конвейер")
+    void createBooking_whenPrepareFails_thenPropagateWithoutWrite() {
+        pipeline = pipeline(Duration.ofMillis(1), 64);
+        when(bookingService.prepareBooking(any(), anyLong()))
+                .thenThrow(new NotFoundException("Не удалось найти предмет"));
+
+        assertThatThrownBy(() -> pipeline.createBooking(request(1L, 0), 2L)).isInstanceOf(NotFoundException.class);
+        verify(bookingBatchWriter, never()).insert(anyList());
+    }
+
+    @Test
+    @DisplayName("Ошибка записи пакета -> бронирования записываются по одному, ошибку получает только виновник")
+    void createBooking_whenBatchFails_thenRetryOneByOne() throws Exception {
+        pipeline = pipeline(Duration.ofMillis(200), 64);
+        givenPrepared();
+        when(bookingBatchWriter.insert(anyList())).thenAnswer(invocation -> {
+            List<Booking> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(booking -> booking.getStart().equals(START))) {
+                throw new IllegalStateException("Ошибка записи");
+            }
+            batch.forEach(booking -> booking.setId(ids.incrementAndGet()));
+            return batch;
+        });
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<BookingResponseDto> failing = executor.submit(() -> pipeline.createBooking(request(1L, 0), 2L));
+            Future<BookingResponseDto> passing = executor.submit(() -> pipeline.createBooking(request(1L, 1), 2L));
+
+            assertThat(passing.get(5, TimeUnit.SECONDS).getId()).isNotNull();
+            assertThatThrownBy(() -> failing.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Error при записи пакета -> пакет получает ошибку, поток шарда продолжает работу")
+    void createBooking_whenWriterThrowsError_thenFailBatchAndKeepShardAlive() {
+        pipeline = pipeline(Duration.ofMillis(1), 64);
+        givenPrepared();
+        when(bookingBatchWriter.insert(anyList()))
+                .thenThrow(new LinkageError("Ошибка загрузки класса"))
+                .thenAnswer(invocation -> {
+                    List<Booking> batch = invocation.getArgument(0);
+                    batch.forEach(booking -> booking.setId(ids.incrementAndGet()));
+                    return batch;
+                });
+
+        assertThatThrownBy(() -> pipeline.createBooking(request(1L, 0), 2L)).hasCauseInstanceOf(LinkageError.class);
+        assertThat(pipeline.createBooking(request(1L, 1), 2L).getId()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Запись не завершилась за отведенное время -> вызывающий получает ошибку, а не ждет бесконечно")
+    void createBooking_whenWriteTooSlow_thenTimeOut() {
+        pipeline = pipeline(Duration.ofMillis(1), 64, Duration.ofMillis(100));
+        givenPrepared();
+        CountDownLatch release = new CountDownLatch(1);
+        when(bookingBatchWriter.insert(anyList())).thenAnswer(invocation -> {
+            release.await();
+            return invocation.getArgument(0);
+        });
+
+        try {
+            assertThatThrownBy(() -> pipeline.createBooking(request(1L, 0), 2L))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("Запись бронирования не завершилась вовремя")
+                    .hasCauseInstanceOf(TimeoutException.class);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Прерывание потока записи во время записи пакета -> остановка конвейера завершается")
+    void close_whenWriterInterruptedMidFlush_thenReturn() throws Exception {
+        pipeline = pipeline(Duration.ofMillis(1), 64);
+        givenPrepared();
+        CountDownLatch writing = new CountDownLatch(1);
+        when(bookingBatchWriter.insert(anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            new CountDownLatch(1).await();
+            return invocation.getArgument(0);
+        });
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<BookingResponseDto> caller = executor.submit(() -> pipeline.createBooking(request(1L, 0), 2L));
+            assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> pipeline.close());
+            assertThatThrownBy(() -> caller.get(5, TimeUnit.SECONDS))
+                    .hasRootCauseInstanceOf(InterruptedException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Запрос после остановки конвейера -> сразу отклоняется")
+    void createBooking_whenPipelineStopped_thenReject() throws InterruptedException {
+        pipeline = pipeline(Duration.ofMillis(1), 64);
+        givenPrepared();
+        pipeline.close();
+
+        assertThatThrownBy(() -> pipeline.createBooking(request(1L, 0), 2L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Конвейер записи бронирований остановлен");
+        verify(bookingBatchWriter, never()).insert(anyList());
+    }
+
+    private BookingWritePipeline pipeline(Duration flushInterval, int maxBatchSize) {
+        return pipeline(flushInterval, maxBatchSize, Duration.ofSeconds(5));
+    }
+
+    private BookingWritePipeline pipeline(Duration flushInterval, int maxBatchSize, Duration writeTimeout) {
+        return new BookingWritePipeline(bookingService, bookingBatchWriter, bookingIntervalIndex, bookingMapper,
+                2, maxBatchSize, flushInterval, writeTimeout);
+    }
+
+    private void givenPrepared() {
+        when(bookingService.prepareBooking(any(BookingRequestDto.class), anyLong())).thenAnswer(invocation -> {
+            BookingRequestDto dto = invocation.getArgument(0);
+            Item item = new Item();
+            item.setId(dto.getItemId());
+            Booking booking = new Booking();
+            booking.setItem(item);
+            booking.setStart(dto.getStart());
+            booking.setEnd(dto.getEnd());
+            booking.setStatus(BookingStatus.WAITING);
+            return booking;
+        });
+        when(bookingMapper.toBookingResponseDto(any(Booking.class))).thenAnswer(invocation -> {
+            BookingResponseDto dto = new BookingResponseDto();
+            dto.setId(invocation.<Booking>getArgument(0).getId());
+            return dto;
+        });
+    }
+
+    private void givenWriterAssignsIds() {
+        when(bookingBatchWriter.insert(anyList())).thenAnswer(invocation -> {
+            List<Booking> batch = invocation.getArgument(0);
+            batch.forEach(booking -> booking.setId(ids.incrementAndGet()));
+            return batch;
+        });
+    }
+
+    private static BookingRequestDto request(Long itemId, int hour) {
+        BookingRequestDto request = new BookingRequestDto();
+        request.setItemId(itemId);
+        request.setStart(START.plusHours(hour));
+        request.setEnd(START.plusHours(hour + 1));
+        return request;
+    }
+}
@@ -0,0 +1,186 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class BookingServiceImplConcurrencyTest {
+    private static final int BOOKINGS = 64;
+    private static final int THREADS = 32;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16.1");
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        owner = saveUser("Владелец");
+        booker = saveUser("Арендатор");
+
+        item = new Item();
+        item.setName("Дрель");
+        item.setDescription("Мощная дрель");
+        item.setAvailable(true);
+        item.setOwner(owner.getId());
+        item = itemRepository.save(item);
+
+        start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    @Test
+    @DisplayName("Одновременное подтверждение пересекающихся бронирований -> подтверждено ровно одно")
+    void updateBooking_whenOverlappingApprovalsRace_thenOnlyOneApproved() throws Exception {
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookings.add(saveWaitingBooking(start.plusMinutes(i), start.plusDays(1)));
+        }
+
+        List<Throwable> failures = approveConcurrently(bookings);
+
+        assertThat(failures).hasSize(BOOKINGS - 1);
+        assertThat(failures).allSatisfy(failure -> assertThat(failure)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Товар уже забронирован на указанный период"));
+        assertThat(bookingRepository.findAllById(bookings.stream().map(Booking::getId).toList()))
+                .filteredOn(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                .hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Одновременное подтверждение смежных бронирований -> подтверждены все")
+    void updateBooking_whenAdjacentApprovalsRace_thenAllApproved() throws Exception {
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookings.add(saveWaitingBooking(start.plusHours(i), start.plusHours(i + 1)));
+        }
+
+        List<Throwable> failures = approveConcurrently(bookings);
+
+        assertThat(failures).isEmpty();
+        assertThat(bookingRepository.findAllById(bookings.stream().map(Booking::getId).toList()))
+                .allSatisfy(booking -> assertThat(booking.getStatus()).isEqualTo(BookingStatus.APPROVED));
+    }
+
+    @Test
+    @DisplayName("Одновременные подтверждение и отклонение одного бронирования -> применяется только одно решение")
+    void updateBooking_whenApproveAndRejectRace_thenOnlyOneDecisionApplied() throws Exception {
+        for (int i = 0; i < BOOKINGS; i++) {
+            Booking booking = saveWaitingBooking(start.plusHours(i), start.plusHours(i + 1));
+            CountDownLatch startSignal = new CountDownLatch(1);
+            List<Future<BookingResponseDto>> results = new ArrayList<>();
+
+            try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+                for (boolean approved : new boolean[]{true, false}) {
+                    results.add(executor.submit(() -> {
+                        startSignal.await();
+                        return bookingService.updateBooking(booking.getId(), owner.getId(), approved);
+                    }));
+                }
+                startSignal.countDown();
+
+                List<BookingResponseDto> applied = new ArrayList<>();
+                for (Future<BookingResponseDto> result : results) {
+                    try {
+                        applied.add(result.get());
+                    } catch (ExecutionException e) {
+                        assertThat(e.getCause())
+                                .isInstanceOf(IllegalArgumentException.class)
+                                .hasMessage("Статус бронирования уже определен");
+                    }
+                }
+
+                assertThat(applied).hasSize(1);
+                assertThat(bookingRepository.findById(booking.getId()).orElseThrow().getStatus())
+                        .isEqualTo(applied.getFirst().getStatus());
+            }
+        }
+    }
+
+    private List<Throwable> approveConcurrently(List<Booking> bookings) throws InterruptedException {
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (Booking booking : bookings) {
+                results.add(executor.submit(() -> {
+                    startSignal.await();
+                    return bookingService.updateBooking(booking.getId(), owner.getId(), true);
+                }));
+            }
+            startSignal.countDown();
+
+            for (Future<?> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+        }
+        return failures;
+    }
+
+    private Booking saveWaitingBooking(LocalDateTime bookingStart, LocalDateTime bookingEnd) {
+        Booking booking = new Booking();
+        booking.setStart(bookingStart);
+        booking.setEnd(bookingEnd);
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(BookingStatus.WAITING);
+        return bookingRepository.save(booking);
+    }
+
+    private User saveUser(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(UUID.randomUUID() + "@yandex.ru");
+        return userRepository.save(user);
+    }
+}
@@ -1,45 +1,68 @@
 package ru.practicum.shareit.booking.service;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.index.BookingApprovedEvent;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
+import ru.practicum.shareit.booking.lock.BookingItemLocks;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.utils.BookingCursor;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.invalidation.ItemChangedEvent;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-@DataJpaTest
-@Import(BookingServiceImpl.class)
+@DataJpaTest(properties = {
+        "shareit.booking-lock.advisory=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({BookingServiceImpl.class, BookingIntervalIndex.class, BookingItemLocks.class})
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@RecordApplicationEvents
 class BookingServiceImplTest {
+    private static final List<String> STATES = List.of("ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED");
 
     @Autowired
     private BookingServiceImpl bookingService;
 
-    @Autowired
+    @SpyBean
     private BookingRepository bookingRepository;
 
     @Autowired
@@ -48,6 +71,12 @@ class BookingServiceImplTest {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
     @MockBean
     private BookingMapper bookingMapper;
 
@@ -206,6 +235,32 @@ class BookingServiceImplTest {
         assertThat(updatedBooking.getStatus()).isEqualTo(BookingStatus.APPROVED);
     }
 
+    @Test
+    @DisplayName("Подтверждение бронирования -> публикуется изменение предмета без влияния на поиск")
+    void updateBooking_whenApproved_thenPublishItemChanged() {
+        bookingService.updateBooking(existingBooking.getId(), owner.getId(), true);
+
+        assertThat(applicationEvents.stream(ItemChangedEvent.class))
+                .containsExactly(new ItemChangedEvent(availableItem.getId(), false));
+    }
+
+    @Test
+    @DisplayName("Подтверждение бронирования -> публикуется период для индекса бронирований")
+    void updateBooking_whenApproved_thenPublishBookingApproved() {
+        bookingService.updateBooking(existingBooking.getId(), owner.getId(), true);
+
+        assertThat(applicationEvents.stream(BookingApprovedEvent.class)).containsExactly(new BookingApprovedEvent(
+                availableItem.getId(), existingBooking.getStart(), existingBooking.getEnd()));
+    }
+
+    @Test
+    @DisplayName("Отклонение бронирования -> период в индекс бронирований не публикуется")
+    void updateBooking_whenRejected_thenDoNotPublishBookingApproved() {
+        bookingService.updateBooking(existingBooking.getId(), owner.getId(), false);
+
+        assertThat(applicationEvents.stream(BookingApprovedEvent.class)).isEmpty();
+    }
+
     @Test
     @DisplayName("Отклонение бронирования владельцем -> статус изменен на REJECTED")
     void updateBooking_whenRejectedByOwner_thenStatusRejected() {
@@ -235,6 +290,29 @@ class BookingServiceImplTest {
         assertThrows(IllegalArgumentException.class, executable);
     }
 
+    @Test
+    @DisplayName("Подтверждение пересекающегося бронирования -> нарушение ограничения дает IllegalArgumentException")
+    void updateBooking_whenPeriodConstraintViolated_thenThrowIllegalArgumentException() {
+        doThrow(new DataIntegrityViolationException("could not execute statement", new SQLException(
+                "ERROR: conflicting key value violates exclusion constraint \"excl_booking_item_period\"", "23P01")))
+                .when(bookingRepository).saveAndFlush(any(Booking.class));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> bookingService.updateBooking(existingBooking.getId(), owner.getId(), true));
+        assertThat(exception.getMessage()).isEqualTo("Товар уже забронирован на указанный период");
+    }
+
+    @Test
+    @DisplayName("Другое нарушение целостности при подтверждении -> исключение передается без изменений")
+    void updateBooking_whenOtherIntegrityViolation_thenRethrow() {
+        doThrow(new DataIntegrityViolationException("could not execute statement", new SQLException(
+                "ERROR: null value in column \"status\" violates not-null constraint", "23502")))
+                .when(bookingRepository).saveAndFlush(any(Booking.class));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> bookingService.updateBooking(existingBooking.getId(), owner.getId(), true));
+    }
+
     @Test
     @DisplayName("Получение бронирования по ID владельцем -> возвращает бронирование")
     void getBookingById_whenOwner_thenReturnBooking() {
@@ -270,10 +348,22 @@ class BookingServiceImplTest {
         assertThrows(NotFoundException.class, executable);
     }
 
+    @Test
+    @DisplayName("Получение предмета бронирования -> возвращает ID предмета")
+    void getBookingItemId_whenBookingExists_thenReturnItemId() {
+        assertThat(bookingService.getBookingItemId(existingBooking.getId())).isEqualTo(availableItem.getId());
+    }
+
+    @Test
+    @DisplayName("Получение предмета несуществующего бронирования -> исключение")
+    void getBookingItemId_whenBookingNotExists_thenThrowException() {
+        assertThrows(NotFoundException.class, () -> bookingService.getBookingItemId(999L));
+    }
+
     @Test
     @DisplayName("Получение бронирований арендатора со state=ALL -> возвращает все бронирования")
     void getBookingByBookerId_whenStateAll_thenReturnAllBookings() {
-        List<BookingResponseDto> result = bookingService.getBookingByBookerId(booker.getId(), "ALL");
+        List<BookingResponseDto> result = bookingService.getBookingByBookerId(booker.getId(), "ALL", 0, 10, null);
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getId()).isEqualTo(existingBooking.getId());
@@ -290,7 +380,7 @@ class BookingServiceImplTest {
         currentBooking.setStatus(BookingStatus.APPROVED);
         bookingRepository.save(currentBooking);
 
-        List<BookingResponseDto> result = bookingService.getBookingByBookerId(booker.getId(), "CURRENT");
+        List<BookingResponseDto> result = bookingService.getBookingByBookerId(booker.getId(), "CURRENT", 0, 10, null);
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getId()).isEqualTo(currentBooking.getId());
@@ -307,7 +397,7 @@ class BookingServiceImplTest {
         pastBooking.setStatus(BookingStatus.APPROVED);
         bookingRepository.save(pastBooking);
 
-        List<BookingResponseDto> result = bookingService.getBookingByBookerId(booker.getId(), "PAST");
+        List<BookingResponseDto> result = bookingService.getBookingByBookerId(booker.getId(), "PAST", 0, 10, null);
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getId()).isEqualTo(pastBooking.getId());
@@ -316,7 +406,7 @@ class BookingServiceImplTest {
     @Test
     @DisplayName("Получение бронирований арендатора со state=FUTURE -> возвращает будущие бронирования")
     void getBookingByBookerId_whenStateFuture_thenReturnFutureBookings() {
-        List<BookingResponseDto> result = bookingService.getBookingByBookerId(booker.getId(), "FUTURE");
+        List<BookingResponseDto> result = bookingService.getBookingByBookerId(booker.getId(), "FUTURE", 0, 10, null);
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getId()).isEqualTo(existingBooking.getId());
@@ -325,7 +415,7 @@ class BookingServiceImplTest {
     @Test
     @DisplayName("Получение бронирований арендатора со state=WAITING -> возвращает ожидающие бронирования")
     void getBookingByBookerId_whenStateWaiting_thenReturnWaitingBookings() {
-        List<BookingResponseDto> result = bookingService.getBookingByBookerId(booker.getId(), "WAITING");
+        List<BookingResponseDto> result = bookingService.getBookingByBookerId(booker.getId(), "WAITING", 0, 10, null);
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getId()).isEqualTo(existingBooking.getId());
@@ -334,7 +424,7 @@ class BookingServiceImplTest {
     @Test
     @DisplayName("Получение бронирований владельца со state=ALL -> возвращает все бронирования")
     void getBookingByOwnerId_whenStateAll_thenReturnAllBookings() {
-        List<BookingResponseDto> result = bookingService.getBookingByOwnerId(owner.getId(), "ALL");
+        List<BookingResponseDto> result = bookingService.getBookingByOwnerId(owner.getId(), "ALL", 0, 10, null);
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getId()).isEqualTo(existingBooking.getId());
@@ -343,15 +433,35 @@ class BookingServiceImplTest {
     @Test
     @DisplayName("Получение бронирований владельца без предметов -> возвращает пустой список")
     void getBookingByOwnerId_whenNoItems_thenReturnEmptyList() {
-        List<BookingResponseDto> result = bookingService.getBookingByOwnerId(anotherUser.getId(), "ALL");
+        List<BookingResponseDto> result = bookingService.getBookingByOwnerId(anotherUser.getId(), "ALL", 0, 10, null);
 
         assertThat(result).isEmpty();
     }
 
+    @Test
+    @DisplayName("Получение бронирований владельца -> бронирования чужих предметов не попадают в выборку")
+    void getBookingByOwnerId_whenOtherOwnersBooked_thenReturnOnlyOwnItems() {
+        Item foreignItem = new Item();
+        foreignItem.setName("Пила");
+        foreignItem.setDescription("Ручная пила");
+        foreignItem.setAvailable(true);
+        foreignItem.setOwner(anotherUser.getId());
+        foreignItem = itemRepository.save(foreignItem);
+        saveBooking(foreignItem, booker, LocalDateTime.now().plusDays(3), LocalDateTime.now().plusDays(4),
+                BookingStatus.WAITING);
+
+        List<BookingResponseDto> ownerBookings = bookingService.getBookingByOwnerId(owner.getId(), "ALL", 0, 10, null);
+        List<BookingResponseDto> anotherBookings =
+                bookingService.getBookingByOwnerId(anotherUser.getId(), "WAITING", 0, 10, null);
+
+        assertThat(ownerBookings).extracting(BookingResponseDto::getId).containsExactly(existingBooking.getId());
+        assertThat(anotherBookings).extracting(dto -> dto.getItem().getId()).containsExactly(foreignItem.getId());
+    }
+
     @Test
     @DisplayName("Получение бронирований с неверным state -> исключение")
     void getBookingByBookerId_whenInvalidState_thenThrowException() {
-        Executable executable = () -> bookingService.getBookingByBookerId(booker.getId(), "INVALID_STATE");
+        Executable executable = () -> bookingService.getBookingByBookerId(booker.getId(), "INVALID_STATE", 0, 10, null);
         assertThrows(IllegalArgumentException.class, executable);
     }
 
@@ -375,10 +485,206 @@ class BookingServiceImplTest {
         assertThrows(IllegalArgumentException.class, executable);
     }
 
+    @Test
+    @DisplayName("Повторное пересекающееся бронирование -> отклоняется индексом без запроса пересечений к базе")
+    void rejectKnownOverlap_whenOverlapKnownToIndex_thenRejectWithoutOverlapQuery() {
+        bookingService.updateBooking(existingBooking.getId(), owner.getId(), true);
+
+        BookingRequestDto requestDto = new BookingRequestDto();
+        requestDto.setItemId(availableItem.getId());
+        requestDto.setStart(existingBooking.getStart().plusHours(1));
+        requestDto.setEnd(existingBooking.getEnd().plusHours(1));
+
+        Executable executable = () -> bookingService.rejectKnownOverlap(requestDto, booker.getId());
+        assertThrows(IllegalArgumentException.class, executable);
+        assertThrows(IllegalArgumentException.class, executable);
+        verify(bookingRepository, never()).existsOverlappingBookings(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Несуществующий арендатор на занятый период -> сначала сообщается об отсутствии пользователя")
+    void rejectKnownOverlap_whenOverlapKnownAndUserNotExists_thenThrowNotFound() {
+        bookingService.updateBooking(existingBooking.getId(), owner.getId(), true);
+
+        BookingRequestDto requestDto = new BookingRequestDto();
+        requestDto.setItemId(availableItem.getId());
+        requestDto.setStart(existingBooking.getStart());
+        requestDto.setEnd(existingBooking.getEnd());
+
+        assertThrows(NotFoundException.class, () -> bookingService.rejectKnownOverlap(requestDto, 999L));
+    }
+
+    @Test
+    @DisplayName("Владелец бронирует свой занятый предмет -> сначала сообщается о запрете бронирования своего")
+    void rejectKnownOverlap_whenOverlapKnownAndBookerIsOwner_thenThrowNoSuchElement() {
+        bookingService.updateBooking(existingBooking.getId(), owner.getId(), true);
+
+        BookingRequestDto requestDto = new BookingRequestDto();
+        requestDto.setItemId(availableItem.getId());
+        requestDto.setStart(existingBooking.getStart());
+        requestDto.setEnd(existingBooking.getEnd());
+
+        assertThrows(NoSuchElementException.class,
+                () -> bookingService.rejectKnownOverlap(requestDto, owner.getId()));
+    }
+
+    @Test
+    @DisplayName("Бронирование без известных пересечений -> предварительная проверка пропускает его")
+    void rejectKnownOverlap_whenNoKnownOverlap_thenPass() {
+        BookingRequestDto requestDto = new BookingRequestDto();
+        requestDto.setItemId(availableItem.getId());
+        requestDto.setStart(existingBooking.getEnd().plusDays(1));
+        requestDto.setEnd(existingBooking.getEnd().plusDays(2));
+
+        assertDoesNotThrow(() -> bookingService.rejectKnownOverlap(requestDto, booker.getId()));
+    }
+
     @Test
     @DisplayName("Получение бронирований несуществующим арендатором -> исключение")
     void getBookingByBookerId_whenUserNotExists_thenThrowException() {
         assertThrows(NotFoundException.class,
-                () -> bookingService.getBookingByBookerId(999L, "ALL"));
+                () -> bookingService.getBookingByBookerId(999L, "ALL", 0, 10, null));
+    }
+
+    @Test
+    @DisplayName("Получение бронирований арендатора с from и size -> возвращает нужную страницу")
+    void getBookingByBookerId_whenFromAndSize_thenReturnPage() {
+        List<Booking> bookings = createPastBookings(4);
+
+        List<BookingResponseDto> result = bookingService.getBookingByBookerId(booker.getId(), "PAST", 1, 2, null);
+
+        assertThat(result).extracting(BookingResponseDto::getId)
+                .containsExactly(bookings.get(1).getId(), bookings.get(2).getId());
+    }
+
+    @Test
+    @DisplayName("Получение бронирований арендатора по курсору -> возвращает бронирования после курсора")
+    void getBookingByBookerId_whenCursor_thenReturnNextPage() {
+        List<Booking> bookings = createPastBookings(4);
+        String cursor = BookingCursor.encode(bookings.get(1).getStart(), bookings.get(1).getId());
+
+        List<BookingResponseDto> result = bookingService.getBookingByBookerId(booker.getId(), "PAST", 0, 10, cursor);
+
+        assertThat(result).extracting(BookingResponseDto::getId)
+                .containsExactly(bookings.get(2).getId(), bookings.get(3).getId());
+    }
+
+    @Test
+    @DisplayName("Получение бронирований владельца по курсору -> возвращает следующую страницу")
+    void getBookingByOwnerId_whenCursor_thenReturnNextPage() {
+        List<Booking> bookings = createPastBookings(3);
+        String cursor = BookingCursor.encode(bookings.getFirst().getStart(), bookings.getFirst().getId());
+
+        List<BookingResponseDto> result = bookingService.getBookingByOwnerId(owner.getId(), "PAST", 0, 1, cursor);
+
+        assertThat(result).extracting(BookingResponseDto::getId)
+                .containsExactly(bookings.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Получение бронирований с некорректным курсором -> исключение")
+    void getBookingByBookerId_whenInvalidCursor_thenThrowException() {
+        Executable executable = () -> bookingService.getBookingByBookerId(booker.getId(), "ALL", 0, 10, "???");
+        assertThrows(IllegalArgumentException.class, executable);
+    }
+
+    @Test
+    @DisplayName("Получение бронирования по ID -> бронирование, предмет и арендатор загружаются одним запросом")
+    void getBookingById_whenAssociationsNeeded_thenSingleStatement() {
+        entityManager.clear();
+
+        long statements = countStatements(() -> bookingService.getBookingById(existingBooking.getId(), owner.getId()));
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Списки бронирований арендатора по всем состояниям -> число запросов не зависит от числа бронирований")
+    void getBookingByBookerId_whenManyBookings_thenConstantStatements() {
+        createBookingsOfDistinctItemsAndBookers(5);
+
+        for (String state : STATES) {
+            entityManager.clear();
+            long statements = countStatements(
+                    () -> bookingService.getBookingByBookerId(booker.getId(), state, 0, 10, null));
+            assertThat(statements).as(state).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @DisplayName("Списки бронирований владельца по всем состояниям -> число запросов не зависит от числа бронирований")
+    void getBookingByOwnerId_whenManyBookings_thenConstantStatements() {
+        List<Booking> bookings = createBookingsOfDistinctItemsAndBookers(5);
+
+        entityManager.clear();
+        List<BookingResponseDto> all = bookingService.getBookingByOwnerId(owner.getId(), "ALL", 0, 10, null);
+        assertThat(all).extracting(dto -> dto.getBooker().getName()).contains(bookings.getLast().getBooker().getName());
+
+        for (String state : STATES) {
+            entityManager.clear();
+            long statements = countStatements(
+                    () -> bookingService.getBookingByOwnerId(owner.getId(), state, 0, 10, null));
+            assertThat(statements).as(state).isEqualTo(2);
+        }
+    }
+
+    private List<Booking> createBookingsOfDistinctItemsAndBookers(int count) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Item item = new Item();
+            item.setName("Дрель " + i);
+            item.setDescription("Мощная дрель");
+            item.setAvailable(true);
+            item.setOwner(owner.getId());
+            item = itemRepository.save(item);
+
+            User itemBooker = new User();
+            itemBooker.setName("Арендатор " + i);
+            itemBooker.setEmail("booker" + i + "@yandex.ru");
+            itemBooker = userRepository.save(itemBooker);
+
+            for (LocalDateTime start : List.of(now.minusDays(10 + i), now.minusHours(1 + i), now.plusDays(10 + i))) {
+                bookings.add(saveBooking(item, itemBooker, start, start.plusDays(1), BookingStatus.APPROVED));
+                bookings.add(saveBooking(item, booker, start.plusHours(1), start.plusDays(1), BookingStatus.WAITING));
+                bookings.add(saveBooking(item, booker, start.plusHours(2), start.plusDays(1), BookingStatus.REJECTED));
+            }
+        }
+        entityManager.flush();
+        return bookings;
+    }
+
+    private Booking saveBooking(Item item, User bookingBooker, LocalDateTime start, LocalDateTime end,
+                                BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setItem(item);
+        booking.setBooker(bookingBooker);
+        booking.setStatus(status);
+        return bookingRepository.save(booking);
+    }
+
+    private long countStatements(Runnable action) {
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<Booking> createPastBookings(int count) {
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).minusDays(10);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Booking booking = new Booking();
+            booking.setStart(start.minusDays(i));
+            booking.setEnd(start.minusDays(i).plusHours(1));
+            booking.setItem(availableItem);
+            booking.setBooker(booker);
+            booking.setStatus(BookingStatus.APPROVED);
+            bookings.add(bookingRepository.save(booking));
+        }
+        return bookings;
     }
 }
\ No newline at end of file
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.idempotency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyStoreTest {
+    private static final String OPERATION = "POST /bookings";
+
+    private final IdempotencyStore store = new IdempotencyStore(100, Duration.ofMinutes(5));
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    @DisplayName("Повтор запроса с тем же ключом -> возвращается первый результат без повторного выполнения")
+    void execute_whenKeyRepeated_thenReplayFirstResult() {
+        Integer first = store.execute(OPERATION, 1L, "key-1", "request", calls::incrementAndGet);
+        Integer second = store.execute(OPERATION, 1L, "key-1", "request", calls::incrementAndGet);
+
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(1);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Запрос без ключа -> выполняется каждый раз")
+    void execute_whenNoKey_thenAlwaysRun() {
+        store.execute(OPERATION, 1L, null, "request", calls::incrementAndGet);
+        store.execute(OPERATION, 1L, " ", "request", calls::incrementAndGet);
+
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Одинаковый ключ у разных пользователей и операций -> запросы не смешиваются")
+    void execute_whenSameKeyForDifferentUsersOrOperations_thenRunSeparately() {
+        store.execute(OPERATION, 1L, "key-1", "request", calls::incrementAndGet);
+        store.execute(OPERATION, 2L, "key-1", "request", calls::incrementAndGet);
+        store.execute("POST /items", 1L, "key-1", "request", calls::incrementAndGet);
+
+        assertThat(calls.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Тот же ключ с другим телом запроса -> ValidationException")
+    void execute_whenKeyReusedForDifferentRequest_thenThrowValidationException() {
+        store.execute(OPERATION, 1L, "key-1", "request", calls::incrementAndGet);
+
+        assertThatThrownBy(() -> store.execute(OPERATION, 1L, "key-1", "other", calls::incrementAndGet))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Ключ идемпотентности уже использован для другого запроса");
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Слишком длинный ключ -> ValidationException")
+    void execute_whenKeyTooLong_thenThrowValidationException() {
+        assertThatThrownBy(() -> store.execute(OPERATION, 1L, "k".repeat(256), "request", calls::incrementAndGet))
+                .isInstanceOf(ValidationException.class);
+        assertThat(calls.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("Ошибка выполнения -> результат не запоминается и повтор выполняется заново")
+    void execute_whenActionFails_thenDoNotRememberFailure() {
+        assertThatThrownBy(() -> store.execute(OPERATION, 1L, "key-1", "request", () -> {
+            calls.incrementAndGet();
+            throw new IllegalArgumentException("Товар уже забронирован на указанный период");
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        Integer result = store.execute(OPERATION, 1L, "key-1", "request", calls::incrementAndGet);
+
+        assertThat(result).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Одновременные дубликаты -> действие выполняется один раз, все получают один результат")
+    void execute_whenConcurrentDuplicates_thenRunOnce() throws Exception {
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return store.execute(OPERATION, 1L, "key-1", "request", () -> {
+                        awaitQuietly(release);
+                        return calls.incrementAndGet();
+                    });
+                }));
+            }
+            start.countDown();
+            TimeUnit.MILLISECONDS.sleep(100);
+            release.countDown();
+
+            for (Future<Integer> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            }
+        }
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.item.invalidation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.invalidation.dto.ItemInvalidationsDto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemInvalidationLogTest {
+
+    private final ItemInvalidationLog log = new ItemInvalidationLog(3);
+
+    @Test
+    @DisplayName("Первый запрос изменений -> полный сброс с текущей позицией журнала")
+    void getChangesAfter_whenFirstRequest_thenReset() {
+        log.onItemChanged(new ItemChangedEvent(1L, true));
+
+        ItemInvalidationsDto changes = log.getChangesAfter(-1);
+
+        assertThat(changes.isReset()).isTrue();
+        assertThat(changes.getSequence()).isEqualTo(1);
+        assertThat(changes.getEpoch()).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("Запрос изменений после позиции -> только новые предметы без повторов")
+    void getChangesAfter_whenPositionKnown_thenReturnNewItemsOnly() {
+        log.onItemChanged(new ItemChangedEvent(1L, true));
+        log.onItemChanged(new ItemChangedEvent(2L, false));
+        log.onItemChanged(new ItemChangedEvent(2L, false));
+
+        ItemInvalidationsDto changes = log.getChangesAfter(1);
+
+        assertThat(changes.isReset()).isFalse();
+        assertThat(changes.getSequence()).isEqualTo(3);
+        assertThat(changes.getItemIds()).containsExactly(2L);
+        assertThat(changes.isSearchChanged()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Нет новых изменений -> пустой список без сброса")
+    void getChangesAfter_whenUpToDate_thenEmpty() {
+        log.onItemChanged(new ItemChangedEvent(1L, true));
+
+        ItemInvalidationsDto changes = log.getChangesAfter(1);
+
+        assertThat(changes.isReset()).isFalse();
+        assertThat(changes.getItemIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Позиция вытеснена из журнала -> полный сброс")
+    void getChangesAfter_whenPositionEvicted_thenReset() {
+        for (long itemId = 1; itemId <= 5; itemId++) {
+            log.onItemChanged(new ItemChangedEvent(itemId, false));
+        }
+
+        assertThat(log.getChangesAfter(1).isReset()).isTrue();
+        assertThat(log.getChangesAfter(2).getItemIds()).containsExactlyInAnyOrder(3L, 4L, 5L);
+    }
+
+    @Test
+    @DisplayName("Позиция из другого запуска сервера -> полный сброс")
+    void getChangesAfter_whenPositionAhead_thenReset() {
+        assertThat(log.getChangesAfter(10).isReset()).isTrue();
+    }
+}
@@ -0,0 +1,145 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "shareit.item-search.engine=full-text")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(FullTextItemSearchEngine.class)
+class FullTextItemSearchEnginePostgresTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16.1");
+
+    @Autowired
+    private FullTextItemSearchEngine searchEngine;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User owner;
+    private User booker;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        owner = saveUser("Владелец", "owner@yandex.ru");
+        booker = saveUser("Арендатор", "booker@yandex.ru");
+        start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    @Test
+    @DisplayName("Полнотекстовый поиск -> совпадения в названии выше совпадений в описании, недоступные скрыты")
+    void searchAvailableItems_whenNameAndDescriptionMatch_thenRankNameFirst() {
+        Item inDescription = saveItem("Набор бит", "Подходит для любой дрели", true);
+        Item inName = saveItem("Аккумуляторная дрель", "Два аккумулятора в комплекте", true);
+        saveItem("Дрель", "Сломана", false);
+        saveItem("Лобзик", "Пилит ровно", true);
+
+        List<Item> found = searchEngine.searchAvailableItems("дрель", Pageable.ofSize(10));
+
+        assertThat(found).extracting(Item::getId).containsExactly(inName.getId(), inDescription.getId());
+    }
+
+    @Test
+    @DisplayName("Полнотекстовый поиск по началу слова -> префиксный запрос находит предмет")
+    void searchAvailableItems_whenWordPrefix_thenFindItem() {
+        Item item = saveItem("Перфоратор", "Ударный режим", true);
+
+        assertThat(searchEngine.searchAvailableItems("перфо", Pageable.ofSize(10)))
+                .extracting(Item::getId)
+                .containsExactly(item.getId());
+    }
+
+    @Test
+    @DisplayName("Полнотекстовый поиск свободных на период -> предметы с подтвержденным пересечением исключены")
+    void searchItemsFreeBetween_whenApprovedOverlap_thenExcludeItem() {
+        Item booked = saveItem("Дрель ударная", "Мощная", true);
+        Item waiting = saveItem("Дрель строительная", "Мощная", true);
+        Item adjacent = saveItem("Дрель компактная", "Легкая", true);
+        saveBooking(booked, start.minusHours(2), start.plusHours(2), BookingStatus.APPROVED);
+        saveBooking(waiting, start, start.plusHours(4), BookingStatus.WAITING);
+        saveBooking(adjacent, start.minusHours(4), start, BookingStatus.APPROVED);
+
+        List<Item> found = searchEngine.searchItemsFreeBetween("дрель", start, start.plusHours(4),
+                Pageable.ofSize(10));
+
+        assertThat(found).extracting(Item::getId).containsExactlyInAnyOrder(waiting.getId(), adjacent.getId());
+    }
+
+    @Test
+    @DisplayName("Постраничный полнотекстовый поиск -> страницы продолжают общий порядок релевантности")
+    void searchAvailableItems_whenPaged_thenContinueGlobalRanking() {
+        Item oldestInName = saveItem("Дрель", "Дрель для дрели", true);
+        Item inDescription = saveItem("Набор бит", "Для дрели", true);
+        Item newerInName = saveItem("Дрель", "Ударная", true);
+        Item newestInDescription = saveItem("Удлинитель", "Пригодится для дрели", true);
+
+        List<Item> firstPage = searchEngine.searchAvailableItems("дрель", PageRequest.of(0, 2));
+        List<Item> secondPage = searchEngine.searchAvailableItems("дрель", PageRequest.of(1, 2));
+        List<Item> beyondMatches = searchEngine.searchAvailableItems("дрель", PageRequest.of(2, 2));
+
+        assertThat(firstPage).extracting(Item::getId).containsExactly(oldestInName.getId(), newerInName.getId());
+        assertThat(secondPage).extracting(Item::getId)
+                .containsExactlyInAnyOrder(inDescription.getId(), newestInDescription.getId());
+        assertThat(beyondMatches).isEmpty();
+    }
+
+    private Item saveItem(String name, String description, boolean available) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        item.setOwner(owner.getId());
+        return itemRepository.saveAndFlush(item);
+    }
+
+    private void saveBooking(Item item, LocalDateTime bookingStart, LocalDateTime bookingEnd, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStart(bookingStart);
+        booking.setEnd(bookingEnd);
+        booking.setStatus(status);
+        bookingRepository.saveAndFlush(booking);
+    }
+
+    private User saveUser(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        return userRepository.save(user);
+    }
+}
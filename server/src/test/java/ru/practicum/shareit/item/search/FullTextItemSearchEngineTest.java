@@ -0,0 +1,68 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class FullTextItemSearchEngineTest {
+
+    @Test
+    @DisplayName("Построение запроса из нескольких слов -> префиксный tsquery с AND")
+    void toPrefixQuery_whenSeveralWords_thenJoinPrefixTerms() {
+        assertThat(FullTextItemSearchEngine.toPrefixQuery("Аккумуляторная  ДРЕЛЬ"))
+                .isEqualTo("аккумуляторная:* & дрель:*");
+    }
+
+    @Test
+    @DisplayName("Построение запроса со спецсимволами tsquery -> спецсимволы отброшены")
+    void toPrefixQuery_whenOperatorCharacters_thenStripThem() {
+        assertThat(FullTextItemSearchEngine.toPrefixQuery("drill & (saw) | !x:*"))
+                .isEqualTo("drill:* & saw:* & x:*");
+    }
+
+    @Test
+    @DisplayName("Поиск по тексту без слов -> запрос в базу не выполняется")
+    void searchAvailableItems_whenNoWords_thenSkipQuery() {
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        FullTextItemSearchEngine engine = new FullTextItemSearchEngine(itemRepository);
+
+        assertThat(engine.searchAvailableItems("  ?! ", Pageable.ofSize(10))).isEmpty();
+        verify(itemRepository, never()).searchAvailableItemsFullText(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Поиск свободных на период предметов -> в базу передаются префиксный запрос и период")
+    void searchItemsFreeBetween_whenWords_thenQueryWithPeriod() {
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        FullTextItemSearchEngine engine = new FullTextItemSearchEngine(itemRepository);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusDays(1);
+        Pageable pageable = Pageable.ofSize(10);
+
+        engine.searchItemsFreeBetween("Дрель", start, end, pageable);
+
+        verify(itemRepository).searchAvailableItemsFullTextFreeBetween("дрель:*", start, end, pageable);
+    }
+
+    @Test
+    @DisplayName("Поиск свободных на период предметов по тексту без слов -> запрос в базу не выполняется")
+    void searchItemsFreeBetween_whenNoWords_thenSkipQuery() {
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        FullTextItemSearchEngine engine = new FullTextItemSearchEngine(itemRepository);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        assertThat(engine.searchItemsFreeBetween("  ?! ", start, start.plusDays(1), Pageable.ofSize(10))).isEmpty();
+        verify(itemRepository, never()).searchAvailableItemsFullTextFreeBetween(
+                anyString(), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class));
+    }
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import(LikeItemSearchEngine.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class ItemSearchFreeBetweenBenchmarkTest {
+    private static final int ITEMS = 5_000;
+    private static final int BOOKINGS_PER_ITEM = 100;
+    private static final int PAGE_SIZE = 20;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private LikeItemSearchEngine searchEngine;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (1, 'Владелец', 'owner@yandex.ru')");
+
+        List<Object[]> items = new ArrayList<>();
+        for (long id = 1; id <= ITEMS; id++) {
+            items.add(new Object[]{id, "Дрель " + id, "Мощная дрель"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO items (id, name, description, is_available, owner_id) "
+                + "VALUES (?, ?, ?, true, 1)", items);
+
+        List<Object[]> bookings = new ArrayList<>();
+        for (long itemId = 1; itemId <= ITEMS; itemId++) {
+            for (int i = 0; i < BOOKINGS_PER_ITEM; i++) {
+                LocalDateTime start = base.plusDays(i * 2L).plusHours(itemId % 24);
+                String status = i % 3 == 0 ? BookingStatus.WAITING.name() : BookingStatus.APPROVED.name();
+                bookings.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusDays(1)),
+                        itemId, status});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) "
+                + "VALUES (?, ?, ?, 1, ?)", bookings);
+    }
+
+    @Test
+    @DisplayName("Поиск свободных на период предметов -> антиджойн быстрее поиска с проверкой каждого предмета")
+    void searchItemsFreeBetween_onLargeBookingTable_thenFasterThanProbingEachItem() {
+        LocalDateTime start = base.plusDays(20);
+        LocalDateTime end = start.plusHours(12);
+
+        List<Long> antiJoin = ids(searchEngine.searchItemsFreeBetween("дрель", start, end, Pageable.ofSize(PAGE_SIZE)));
+        List<Long> probing = ids(searchThenProbe(start, end));
+        assertThat(antiJoin).hasSize(PAGE_SIZE).isEqualTo(probing);
+
+        long antiJoinNanos = measure(() ->
+                searchEngine.searchItemsFreeBetween("дрель", start, end, Pageable.ofSize(PAGE_SIZE)));
+        long probingNanos = measure(() -> searchThenProbe(start, end));
+        log.info("Поиск свободных предметов среди {} бронирований: антиджойн {} мкс, поиск с проверкой {} мкс",
+                ITEMS * BOOKINGS_PER_ITEM, antiJoinNanos / 1_000, probingNanos / 1_000);
+
+        assertThat(antiJoinNanos).isLessThan(probingNanos);
+    }
+
+    private List<Item> searchThenProbe(LocalDateTime start, LocalDateTime end) {
+        List<Item> free = new ArrayList<>();
+        int page = 0;
+        while (free.size() < PAGE_SIZE) {
+            List<Item> candidates = searchEngine.searchAvailableItems("дрель",
+                    PageRequest.of(page++, PAGE_SIZE, Sort.by("id")));
+            if (candidates.isEmpty()) {
+                break;
+            }
+            for (Item item : candidates) {
+                if (free.size() < PAGE_SIZE && bookingRepository.findByItemIdAndStatusAndStartBeforeAndEndAfter(
+                        item.getId(), BookingStatus.APPROVED, end, start, Sort.unsorted()).isEmpty()) {
+                    free.add(item);
+                }
+            }
+        }
+        return free;
+    }
+
+    private static long measure(Supplier<List<Item>> search) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            long started = System.nanoTime();
+            search.get();
+            best = Math.min(best, System.nanoTime() - started);
+        }
+        return best;
+    }
+
+    private static List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).toList();
+    }
+}
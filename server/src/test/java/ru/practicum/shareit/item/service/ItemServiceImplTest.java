@@ -1,28 +1,38 @@
 package ru.practicum.shareit.item.service;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.comment.dto.CommentRequestDto;
 import ru.practicum.shareit.item.comment.dto.CommentResponseDto;
 import ru.practicum.shareit.item.comment.model.Comment;
 import ru.practicum.shareit.item.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.invalidation.ItemChangedEvent;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.LikeItemSearchEngine;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -30,13 +40,15 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
-@DataJpaTest
-@Import(ItemServiceImpl.class)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ItemServiceImpl.class, LikeItemSearchEngine.class})
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@RecordApplicationEvents
 class ItemServiceImplTest {
 
     @Autowired
@@ -54,6 +66,15 @@ class ItemServiceImplTest {
     @Autowired
     private CommentRepository commentRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
     @MockBean
     private ItemMapper itemMapper;
 
@@ -211,6 +232,96 @@ class ItemServiceImplTest {
         assertThat(result).hasSize(2);
     }
 
+    @Test
+    @DisplayName("Получение всех предметов с историей бронирований -> последнее и ближайшее бронирование")
+    void getAllUserItems_whenManyBookings_thenReturnLastAndNextBooking() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking lastBooking = saveApprovedBooking(now.minusDays(3), now.minusDays(1));
+        saveApprovedBooking(now.minusDays(10), now.minusDays(8));
+        Booking nextBooking = saveApprovedBooking(now.plusDays(1), now.plusDays(2));
+        saveApprovedBooking(now.plusDays(5), now.plusDays(6));
+
+        List<ItemResponseDto> result = itemService.getAllUserItems(owner.getId());
+
+        assertThat(result).hasSize(1);
+        assertThat(result.getFirst().getLastBooking().getId()).isEqualTo(lastBooking.getId());
+        assertThat(result.getFirst().getLastBooking().getBookerId()).isEqualTo(booker.getId());
+        assertThat(result.getFirst().getNextBooking().getId()).isEqualTo(nextBooking.getId());
+    }
+
+    @Test
+    @DisplayName("Получение всех предметов -> число запросов не зависит от истории бронирований")
+    void getAllUserItems_whenBookingHistoryGrows_thenQueryCountStaysFlat() {
+        LocalDateTime now = LocalDateTime.now();
+        saveApprovedBooking(now.minusDays(2), now.minusDays(1));
+        saveApprovedBooking(now.plusDays(1), now.plusDays(2));
+        long shortHistoryStatements = countStatements(() -> itemService.getAllUserItems(owner.getId()));
+
+        for (int i = 0; i < 200; i++) {
+            saveApprovedBooking(now.minusDays(10 + i * 2L), now.minusDays(9 + i * 2L));
+            saveApprovedBooking(now.plusDays(10 + i * 2L), now.plusDays(11 + i * 2L));
+        }
+        Statistics statistics = statistics();
+        long longHistoryStatements = countStatements(() -> itemService.getAllUserItems(owner.getId()));
+
+        assertThat(longHistoryStatements).isEqualTo(shortHistoryStatements);
+        assertThat(statistics.getEntityStatistics(Booking.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Получение предмета с комментариями -> комментарии читаются проекцией без загрузки сущностей")
+    void getItemById_whenComments_thenReadProjectionWithoutEntities() {
+        saveComment(existingItem, booker, "Отличная дрель!");
+        saveComment(existingItem, anotherUser, "Работает тихо");
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = statistics();
+
+        long statements = countStatements(() -> assertThat(
+                itemService.getItemById(existingItem.getId(), booker.getId()).getComments())
+                .extracting(CommentResponseDto::getAuthorName, CommentResponseDto::getText)
+                .containsExactlyInAnyOrder(
+                        tuple("Арендатор", "Отличная дрель!"),
+                        tuple("Другой пользователь", "Работает тихо")));
+
+        assertThat(statements).isEqualTo(2);
+        assertThat(statistics.getEntityStatistics(Comment.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Получение всех предметов с комментариями -> число запросов не зависит от числа комментариев")
+    void getAllUserItems_whenCommentsGrow_thenQueryCountStaysFlat() {
+        Item secondItem = new Item();
+        secondItem.setName("Отвертка");
+        secondItem.setDescription("Крестовая отвертка");
+        secondItem.setAvailable(true);
+        secondItem.setOwner(owner.getId());
+        secondItem = itemRepository.save(secondItem);
+        saveComment(existingItem, booker, "Отличная дрель!");
+        entityManager.flush();
+        entityManager.clear();
+        long fewCommentsStatements = countStatements(() -> itemService.getAllUserItems(owner.getId()));
+
+        for (int i = 0; i < 20; i++) {
+            User author = new User();
+            author.setName("Автор " + i);
+            author.setEmail("author" + i + "@yandex.ru");
+            author = userRepository.save(author);
+            saveComment(i % 2 == 0 ? existingItem : secondItem, author, "Комментарий " + i);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = statistics();
+        long manyCommentsStatements = countStatements(() -> assertThat(itemService.getAllUserItems(owner.getId()))
+                .flatExtracting(ItemResponseDto::getComments)
+                .hasSize(21));
+
+        assertThat(manyCommentsStatements).isEqualTo(fewCommentsStatements);
+        assertThat(statistics.getEntityStatistics(Comment.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isZero();
+    }
+
     @Test
     @DisplayName("Получение всех предметов несуществующего пользователя -> исключение")
     void getAllUserItems_whenUserNotExists_thenThrowException() {
@@ -228,7 +339,7 @@ class ItemServiceImplTest {
         unavailableItem.setOwner(owner.getId());
         itemRepository.save(unavailableItem);
 
-        List<ItemResponseDto> result = itemService.searchItems("дрель", 0, 10);
+        List<ItemResponseDto> result = itemService.searchItems("дрель", 0, 10, null, null);
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getName()).isEqualTo("Дрель");
@@ -237,7 +348,7 @@ class ItemServiceImplTest {
     @Test
     @DisplayName("Поиск предметов по пустому тексту -> возвращает пустой список")
     void searchItems_whenEmptyText_thenReturnEmptyList() {
-        List<ItemResponseDto> result = itemService.searchItems("", 0, 10);
+        List<ItemResponseDto> result = itemService.searchItems("", 0, 10, null, null);
 
         assertThat(result).isEmpty();
     }
@@ -263,6 +374,18 @@ class ItemServiceImplTest {
         assertThat(updatedItem.getAvailable()).isFalse();
     }
 
+    @Test
+    @DisplayName("Обновление предмета -> публикуется изменение предмета, влияющее на поиск")
+    void updateItem_whenOwner_thenPublishItemChanged() {
+        ItemRequestDto updateDto = new ItemRequestDto();
+        updateDto.setAvailable(false);
+
+        itemService.updateItem(owner.getId(), existingItem.getId(), updateDto);
+
+        assertThat(applicationEvents.stream(ItemChangedEvent.class))
+                .containsExactly(new ItemChangedEvent(existingItem.getId(), true));
+    }
+
     @Test
     @DisplayName("Обновление предмета не владельцем -> исключение")
     void updateItem_whenNotOwner_thenThrowException() {
@@ -327,6 +450,8 @@ class ItemServiceImplTest {
         List<Comment> comments = commentRepository.findAll();
         assertThat(comments).hasSize(1);
         assertThat(comments.getFirst().getText()).isEqualTo("Отличная дрель!");
+        assertThat(applicationEvents.stream(ItemChangedEvent.class))
+                .containsExactly(new ItemChangedEvent(existingItem.getId(), false));
     }
 
     @Test
@@ -371,8 +496,171 @@ class ItemServiceImplTest {
             itemRepository.save(item);
         }
 
-        List<ItemResponseDto> result = itemService.searchItems("дрель", 0, 3);
+        List<ItemResponseDto> result = itemService.searchItems("дрель", 0, 3, null, null);
 
         assertThat(result).hasSize(3);
     }
+
+    @Test
+    @DisplayName("Поиск свободных на период предметов -> исключаются занятые подтвержденными бронями")
+    void searchItems_withPeriod_thenExcludeItemsWithOverlappingApprovedBookings() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        LocalDateTime end = start.plusDays(2);
+        saveApprovedBooking(start.plusDays(1), end.plusDays(1));
+        Item adjacentItem = saveItem("Дрель ударная");
+        saveBooking(adjacentItem, end, end.plusDays(1), BookingStatus.APPROVED);
+        Item waitingItem = saveItem("Дрель аккумуляторная");
+        saveBooking(waitingItem, start, end, BookingStatus.WAITING);
+
+        List<ItemResponseDto> result = itemService.searchItems("дрель", 0, 10, start, end);
+
+        assertThat(result).extracting(ItemResponseDto::getId)
+                .containsExactly(adjacentItem.getId(), waitingItem.getId());
+    }
+
+    @Test
+    @DisplayName("Поиск свободных на период предметов с пагинацией -> одна страница одним запросом")
+    void searchItems_withPeriodAndPagination_thenSingleQueryPerPage() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        saveApprovedBooking(start, start.plusDays(1));
+        for (int i = 1; i <= 5; i++) {
+            saveItem("Дрель " + i);
+        }
+
+        long statements = countStatements(() -> assertThat(
+                itemService.searchItems("дрель", 3, 3, start, start.plusDays(1))).hasSize(2));
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Поиск с указанием только начала периода -> ValidationException")
+    void searchItems_whenOnlyStartGiven_thenThrowValidationException() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        assertThrows(ValidationException.class, () -> itemService.searchItems("дрель", 0, 10, start, null));
+    }
+
+    @Test
+    @DisplayName("Поиск с началом периода не раньше окончания -> ValidationException")
+    void searchItems_whenPeriodInverted_thenThrowValidationException() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        assertThrows(ValidationException.class, () -> itemService.searchItems("дрель", 0, 10, start, start));
+    }
+
+    @Test
+    @DisplayName("Занятость предмета -> подтвержденные бронирования обрезаются по периоду, между ними свободно")
+    void getAvailability_whenApprovedBookings_thenReturnFreeAndBusySlots() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1).withNano(0);
+        LocalDateTime to = from.plusDays(10);
+        saveApprovedBooking(from.minusDays(1), from.plusDays(1));
+        saveApprovedBooking(from.plusDays(3), from.plusDays(4));
+        saveApprovedBooking(from.plusDays(4), from.plusDays(5));
+        saveApprovedBooking(from.plusDays(9), to.plusDays(3));
+        saveApprovedBooking(to.plusDays(5), to.plusDays(6));
+
+        Booking waiting = new Booking();
+        waiting.setStart(from.plusDays(6));
+        waiting.setEnd(from.plusDays(7));
+        waiting.setItem(existingItem);
+        waiting.setBooker(anotherUser);
+        waiting.setStatus(BookingStatus.WAITING);
+        bookingRepository.save(waiting);
+
+        ItemAvailabilityDto result = itemService.getAvailability(existingItem.getId(), from, to);
+
+        assertThat(result.getBusy()).containsExactly(
+                new ItemAvailabilityDto.Period(from, from.plusDays(1)),
+                new ItemAvailabilityDto.Period(from.plusDays(3), from.plusDays(5)),
+                new ItemAvailabilityDto.Period(from.plusDays(9), to));
+        assertThat(result.getFree()).containsExactly(
+                new ItemAvailabilityDto.Period(from.plusDays(1), from.plusDays(3)),
+                new ItemAvailabilityDto.Period(from.plusDays(5), from.plusDays(9)));
+    }
+
+    @Test
+    @DisplayName("Занятость предмета с бронированиями -> один запрос к базе")
+    void getAvailability_whenBookingsExist_thenSingleQuery() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+        saveApprovedBooking(from.plusHours(1), from.plusHours(2));
+
+        long statements = countStatements(
+                () -> itemService.getAvailability(existingItem.getId(), from, from.plusDays(1)));
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Занятость предмета без бронирований -> весь период свободен")
+    void getAvailability_whenNoBookings_thenWholePeriodFree() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+        LocalDateTime to = from.plusDays(2);
+
+        ItemAvailabilityDto result = itemService.getAvailability(existingItem.getId(), from, to);
+
+        assertThat(result.getBusy()).isEmpty();
+        assertThat(result.getFree()).containsExactly(new ItemAvailabilityDto.Period(from, to));
+    }
+
+    @Test
+    @DisplayName("Занятость несуществующего предмета -> NotFoundException")
+    void getAvailability_whenItemNotFound_thenThrowNotFoundException() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+
+        assertThrows(NotFoundException.class, () -> itemService.getAvailability(999L, from, from.plusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Занятость с началом периода не раньше окончания -> ValidationException")
+    void getAvailability_whenPeriodInverted_thenThrowValidationException() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+
+        assertThrows(ValidationException.class,
+                () -> itemService.getAvailability(existingItem.getId(), from, from));
+    }
+
+    private Booking saveApprovedBooking(LocalDateTime start, LocalDateTime end) {
+        return saveBooking(existingItem, start, end, BookingStatus.APPROVED);
+    }
+
+    private Booking saveBooking(Item item, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(status);
+        return bookingRepository.save(booking);
+    }
+
+    private void saveComment(Item item, User author, String text) {
+        Comment comment = new Comment();
+        comment.setItem(item);
+        comment.setAuthor(author);
+        comment.setText(text);
+        comment.setCreated(LocalDateTime.now());
+        commentRepository.save(comment);
+    }
+
+    private Item saveItem(String name) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription("Мощная дрель");
+        item.setAvailable(true);
+        item.setOwner(owner.getId());
+        return itemRepository.save(item);
+    }
+
+    private long countStatements(Runnable action) {
+        bookingRepository.flush();
+        Statistics statistics = statistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
 }
\ No newline at end of file
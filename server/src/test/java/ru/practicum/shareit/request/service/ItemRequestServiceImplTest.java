@@ -1,5 +1,8 @@
 package ru.practicum.shareit.request.service;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -25,7 +28,7 @@ import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @Import({ItemRequestServiceImpl.class, ItemRequestMapper.class})
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 class ItemRequestServiceImplTest {
@@ -42,6 +45,9 @@ class ItemRequestServiceImplTest {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private User requestor;
     private User anotherUser;
     private ItemRequest existingRequest;
@@ -209,4 +215,60 @@ class ItemRequestServiceImplTest {
         assertThat(result.get(0).getDescription()).isEqualTo("Новый запрос");
         assertThat(result.get(1).getDescription()).isEqualTo("Нужна дрель для ремонта");
     }
+
+    @Test
+    @DisplayName("Получение запросов других пользователей -> число запросов к БД не зависит от размера страницы")
+    void getAll_whenPageSizeGrows_thenQueryCountStaysConstant() {
+        for (int i = 0; i < 6; i++) {
+            ItemRequest request = saveRequest(anotherUser, "Запрос " + i);
+            saveItem("Предмет " + i, request.getId());
+        }
+
+        long smallPageStatements = countStatements(() -> itemRequestService.getAll(requestor.getId(), 0, 1));
+        long largePageStatements = countStatements(() -> itemRequestService.getAll(requestor.getId(), 0, 6));
+
+        assertThat(largePageStatements).isEqualTo(smallPageStatements);
+    }
+
+    @Test
+    @DisplayName("Получение собственных запросов -> предметы сгруппированы по своим запросам")
+    void getByRequestor_whenSeveralRequestsWithItems_thenItemsGroupedByRequest() {
+        ItemRequest secondRequest = saveRequest(requestor, "Нужна пила");
+        saveItem("Пила", secondRequest.getId());
+        saveItem("Ножовка", secondRequest.getId());
+
+        List<ItemRequestResponseDto> result = itemRequestService.getByRequestor(requestor.getId());
+
+        assertThat(result).hasSize(2);
+        assertThat(result.getFirst().getItems()).extracting(ru.practicum.shareit.item.dto.ItemRequestDto::getName)
+                .containsExactlyInAnyOrder("Пила", "Ножовка");
+        assertThat(result.get(1).getItems()).extracting(ru.practicum.shareit.item.dto.ItemRequestDto::getName)
+                .containsExactly("Дрель");
+    }
+
+    private ItemRequest saveRequest(User user, String description) {
+        ItemRequest request = new ItemRequest();
+        request.setDescription(description);
+        request.setRequestor(user);
+        request.setCreated(LocalDateTime.now());
+        return itemRequestRepository.save(request);
+    }
+
+    private void saveItem(String name, Long requestId) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(name);
+        item.setAvailable(true);
+        item.setOwner(requestor.getId());
+        item.setRequestId(requestId);
+        itemRepository.save(item);
+    }
+
+    private long countStatements(Runnable action) {
+        itemRepository.flush();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
 }
\ No newline at end of file